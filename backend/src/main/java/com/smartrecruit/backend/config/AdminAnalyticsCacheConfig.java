@@ -0,0 +1,20 @@
+package com.smartrecruit.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AdminAnalyticsCacheConfig {
+
+    // Một thread để tính lại snapshot analytics trong nền; mỗi lúc chỉ có tối đa một lần refresh (single-flight)
+    @Bean(name = "analyticsRefreshExecutor")
+    public ThreadPoolTaskExecutor analyticsRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("analytics-refresh-");
+        return executor;
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartrecruit.backend.config;
+
+import com.smartrecruit.backend.entity.AnalyticsBackfill;
+import com.smartrecruit.backend.repository.AnalyticsBackfillRepository;
+import com.smartrecruit.backend.repository.DailyActivityRollupRepository;
+import com.smartrecruit.backend.repository.RecruiterActivityRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dựng rollup từ các bảng gốc một lần cho mỗi database (DB đã có dữ liệu từ trước khi có bảng rollup).
+ *
+ * Runner chạy khi web server đã nhận request và có thể nhiều pod khởi động cùng lúc, nên không dựa vào việc bảng rollup
+ * còn trống: đánh dấu đã dựng bằng một row trong analytics_backfills, và cả việc kiểm tra lẫn dựng lại đều chạy dưới khoá
+ * EXCLUSIVE trên hai bảng rollup. Row rollup đã được upsert trước khi lấy khoá đều thuộc transaction đã commit (dữ liệu gốc
+ * tương ứng cũng đã commit) nên được xoá rồi tính lại từ bảng gốc; các upsert tới sau phải chờ khoá nên cộng tiếp lên kết quả.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupInitializer implements ApplicationRunner {
+
+    private static final String ROLLUP_BACKFILL = "activity-rollups";
+
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
+    private final RecruiterActivityRollupRepository recruiterActivityRollupRepository;
+    private final AnalyticsBackfillRepository analyticsBackfillRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Đường nhanh cho các lần khởi động sau: không cần lấy khoá
+        if (analyticsBackfillRepository.existsById(ROLLUP_BACKFILL)) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dailyActivityRollupRepository.lockRollupTables();
+            // Pod khác có thể đã dựng xong trong lúc chờ khoá
+            if (analyticsBackfillRepository.existsById(ROLLUP_BACKFILL)) {
+                return;
+            }
+
+            dailyActivityRollupRepository.deleteAllInBatch();
+            recruiterActivityRollupRepository.deleteAllInBatch();
+            int days = dailyActivityRollupRepository.backfill();
+            int recruiters = recruiterActivityRollupRepository.backfill();
+            analyticsBackfillRepository.save(new AnalyticsBackfill(ROLLUP_BACKFILL, LocalDateTime.now()));
+            log.info("Backfilled analytics rollups: {} days, {} recruiters", days, recruiters);
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.smartrecruit.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cột tsvector cho full-text search CV và GIN index trên cột đó (Hibernate không tạo được hai thứ này từ entity).
+ * Cột là generated column nên Postgres tự tính lại khi CV được insert/update (upload, parse lại), không cần code đồng bộ;
+ * lần đầu thêm cột thì các CV sẵn có cũng được tính luôn.
+ * Trọng số: A = skill đã parse, B = bằng cấp, ngành, tên; C = toàn bộ text của CV.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CVSearchIndexInitializer implements ApplicationRunner {
+
+    private static final String ADD_SEARCH_VECTOR =
+            "ALTER TABLE cvs ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+            "  setweight(to_tsvector('simple', coalesce(features -> 'skills' ->> 'domainSkills', '')), 'A') || " +
+            "  setweight(to_tsvector('simple', " +
+            "    coalesce(features -> 'education' ->> 'highestDegree', '') || ' ' || " +
+            "    coalesce(features -> 'education' ->> 'field', '') || ' ' || " +
+            "    coalesce(features -> 'personal' ->> 'name', '')), 'B') || " +
+            "  setweight(to_tsvector('simple', coalesce(extracted_text, '')), 'C')" +
+            ") STORED";
+
+    private static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_cvs_search_vector ON cvs USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("CV full-text search index is ready");
+    }
+}
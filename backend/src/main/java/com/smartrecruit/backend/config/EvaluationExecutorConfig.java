@@ -0,0 +1,44 @@
+package com.smartrecruit.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class EvaluationExecutorConfig {
+
+    // Executor riêng cho các evaluation chạy nền. Giới hạn số thread để không chiếm hết Hikari pool (10 connections)
+    @Bean(name = "evaluationExecutor")
+    public ThreadPoolTaskExecutor evaluationExecutor(
+            @Value("${app.evaluation.async.pool-size:2}") int poolSize,
+            @Value("${app.evaluation.async.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+
+        // Khi hàng đợi đầy, executor sẽ từ chối (TaskRejectedException) thay vì chạy trên request thread
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("evaluation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Pool riêng cho việc trích xuất feature song song (CPU-bound), không dùng chung ForkJoinPool.commonPool()
+    @Bean(name = "featureExtractionPool", destroyMethod = "shutdown")
+    public ForkJoinPool featureExtractionPool(
+            @Value("${app.evaluation.feature-extraction.parallelism:0}") int parallelism
+    ) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("feature-extraction-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
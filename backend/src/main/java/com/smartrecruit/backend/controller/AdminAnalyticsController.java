@@ -1,8 +1,10 @@
 package com.smartrecruit.backend.controller;
 
+import com.smartrecruit.backend.dto.admin.AdminAnalyticsCacheStats;
 import com.smartrecruit.backend.dto.admin.AdminAnalyticsResponse;
-import com.smartrecruit.backend.service.AdminAnalyticsService;
+import com.smartrecruit.backend.service.AdminAnalyticsSnapshotCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,10 +15,20 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AdminAnalyticsController {
 
-    private final AdminAnalyticsService adminAnalyticsService;
+    private final AdminAnalyticsSnapshotCache adminAnalyticsSnapshotCache;
 
+    // X-Cache: HIT/STALE/MISS, Age: tuổi của snapshot (giây)
     @GetMapping
     public ResponseEntity<AdminAnalyticsResponse> getAnalytics() {
-        return ResponseEntity.ok(adminAnalyticsService.getAnalytics());
+        AdminAnalyticsSnapshotCache.CachedAnalytics cached = adminAnalyticsSnapshotCache.get();
+        return ResponseEntity.ok()
+                .header("X-Cache", cached.status().name())
+                .header(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()))
+                .body(cached.response());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<AdminAnalyticsCacheStats> getCacheStats() {
+        return ResponseEntity.ok(adminAnalyticsSnapshotCache.getStats());
     }
 }
@@ -0,0 +1,26 @@
+package com.smartrecruit.backend.controller;
+
+import com.smartrecruit.backend.dto.admin.CacheStats;
+import com.smartrecruit.backend.service.JobOwnershipCache;
+import com.smartrecruit.backend.service.JwtClaimsCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final JwtClaimsCache jwtClaimsCache;
+    private final JobOwnershipCache jobOwnershipCache;
+
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(List.of(jwtClaimsCache.getStats(), jobOwnershipCache.getStats()));
+    }
+}
@@ -1,12 +1,16 @@
 package com.smartrecruit.backend.controller;
 
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.candidate.CandidateRequest;
 import com.smartrecruit.backend.dto.candidate.CandidateResponse;
+import com.smartrecruit.backend.dto.candidate.CandidateSearchResponse;
 import com.smartrecruit.backend.dto.candidate.CVResponse;
 import com.smartrecruit.backend.dto.candidate.CVSummaryResponse;
+import com.smartrecruit.backend.dto.job.JobMatchResponse;
 import com.smartrecruit.backend.security.SecurityUtils;
 import com.smartrecruit.backend.service.CandidateService;
 import com.smartrecruit.backend.service.CVService;
+import com.smartrecruit.backend.service.JobMatchingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +29,7 @@ public class CandidateController {
 
     private final CandidateService candidateService;
     private final CVService cvService;
+    private final JobMatchingService jobMatchingService;
     private final SecurityUtils securityUtils;
 
     @PostMapping
@@ -38,6 +43,27 @@ public class CandidateController {
         return ResponseEntity.ok(candidateService.findAll(securityUtils.getCurrentUser()));
     }
 
+    // Phân trang keyset: truyền nextCursor của trang trước vào cursor để lấy trang tiếp theo
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<CandidateResponse>> page(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(candidateService.findPage(query, cursor, size, securityUtils.getCurrentUser()));
+    }
+
+    // q theo cú pháp websearch: "cụm từ", OR, -từ loại trừ
+    @GetMapping("/search")
+    public ResponseEntity<List<CandidateSearchResponse>> search(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "skill", required = false) String skill,
+            @RequestParam(value = "degree", required = false) String degree,
+            @RequestParam(value = "minYears", required = false) Integer minYears,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(candidateService.search(query, skill, degree, minYears, limit,
+                securityUtils.getCurrentUser()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CandidateResponse> getById(@PathVariable UUID id) {
         return ResponseEntity.ok(candidateService.getById(id, securityUtils.getCurrentUser()));
@@ -77,6 +103,15 @@ public class CandidateController {
         return ResponseEntity.ok(cvService.getById(cvId, securityUtils.getCurrentUser()));
     }
 
+    // Các job đang mở tuyển phù hợp nhất với CV (recruiter chỉ thấy job của mình)
+    @GetMapping("/{candidateId}/cvs/{cvId}/matching-jobs")
+    public ResponseEntity<List<JobMatchResponse>> matchingJobs(
+            @PathVariable UUID candidateId,
+            @PathVariable UUID cvId,
+            @RequestParam(value = "topK", required = false) Integer topK) {
+        return ResponseEntity.ok(jobMatchingService.findMatchingJobs(cvId, topK, securityUtils.getCurrentUser()));
+    }
+
     @DeleteMapping("/{candidateId}/cvs/{cvId}")
     public ResponseEntity<Void> deleteCV(
             @PathVariable UUID candidateId,
@@ -1,15 +1,26 @@
 package com.smartrecruit.backend.controller;
 
+import com.smartrecruit.backend.dto.CursorPage;
+import com.smartrecruit.backend.dto.evaluation.CandidateScoreDTO;
+import com.smartrecruit.backend.dto.evaluation.EvaluationJobStatusResponse;
+import com.smartrecruit.backend.dto.evaluation.EvaluationRankingResponse;
 import com.smartrecruit.backend.dto.evaluation.EvaluationRequest;
 import com.smartrecruit.backend.dto.evaluation.EvaluationResponse;
+import com.smartrecruit.backend.enums.ExportFormat;
 import com.smartrecruit.backend.service.EvaluationService;
+import com.smartrecruit.backend.service.RankingExportWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -42,6 +53,29 @@ public class EvaluationController {
         return ResponseEntity.ok(response);
     }
 
+    // Chạy đánh giá nền: trả về evaluationId ngay lập tức, client poll /{evaluationId}/status để theo dõi tiến độ
+    @PostMapping("/jobs/{jobId}/evaluate/async")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<EvaluationJobStatusResponse> submitEvaluation(
+            @PathVariable UUID jobId,
+            @Valid @RequestBody EvaluationRequest request
+    ) {
+        log.info("Received background evaluation request for job: {}", jobId);
+
+        request.setJobId(jobId);
+
+        EvaluationJobStatusResponse response = evaluationService.submitEvaluation(jobId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{evaluationId}/status")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<EvaluationJobStatusResponse> getEvaluationStatus(
+            @PathVariable UUID evaluationId
+    ) {
+        return ResponseEntity.ok(evaluationService.getEvaluationStatus(evaluationId));
+    }
+
     @GetMapping("/jobs/{jobId}/history")
     @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
     public ResponseEntity<List<EvaluationResponse>> getEvaluationHistory(
@@ -64,6 +98,62 @@ public class EvaluationController {
         return ResponseEntity.ok(response);
     }
 
+    // Danh sách ứng viên đã chấm của job theo từng trang (điểm cao nhất trước)
+    @GetMapping("/jobs/{jobId}/results")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<CursorPage<CandidateScoreDTO>> getResults(
+            @PathVariable UUID jobId,
+            @RequestParam(value = "minScore", required = false) BigDecimal minScore,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(evaluationService.getResultPage(jobId, minScore, cursor, size));
+    }
+
+    // Bảng xếp hạng ứng viên: rank và percentile tính trong database, hỗ trợ topK, minScore và cursor
+    @GetMapping("/jobs/{jobId}/ranking")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<EvaluationRankingResponse> getRanking(
+            @PathVariable UUID jobId,
+            @RequestParam(value = "topK", required = false) Integer topK,
+            @RequestParam(value = "minScore", required = false) BigDecimal minScore,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(evaluationService.getRanking(jobId, topK, minScore, cursor, size));
+    }
+
+    // Export toàn bộ bảng xếp hạng (ndjson hoặc csv), ghi ra response ngay khi đọc được từ database
+    @GetMapping("/jobs/{jobId}/ranking/export")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRanking(
+            @PathVariable UUID jobId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatStr
+    ) {
+        ExportFormat format;
+        try {
+            format = ExportFormat.valueOf(formatStr.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + formatStr);
+        }
+
+        evaluationService.ensureCanReadResults(jobId);
+        log.info("Exporting ranking for job: {} as {}", jobId, format);
+
+        StreamingResponseBody body = out -> {
+            RankingExportWriter writer = new RankingExportWriter(format, out);
+            evaluationService.streamRanking(jobId, writer);
+            long rows = writer.finish();
+            log.info("Exported {} candidates for job: {}", rows, jobId);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"ranking-" + jobId + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @PostMapping("/jobs/{jobId}/re-evaluate")
     @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
     public ResponseEntity<EvaluationResponse> reEvaluateJob(
@@ -1,7 +1,9 @@
 package com.smartrecruit.backend.controller;
 
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.application.JobApplicationRequest;
 import com.smartrecruit.backend.dto.application.JobApplicationResponse;
+import com.smartrecruit.backend.enums.ApplicationStatus;
 import com.smartrecruit.backend.security.SecurityUtils;
 import com.smartrecruit.backend.service.JobApplicationService;
 import jakarta.validation.Valid;
@@ -40,6 +42,18 @@ public class JobApplicationController {
         return ResponseEntity.ok(applications);
     }
 
+    // Phân trang keyset: truyền nextCursor của trang trước vào cursor để lấy trang tiếp theo
+    @GetMapping("/job/{jobId}/page")
+    @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
+    public ResponseEntity<CursorPage<JobApplicationResponse>> getPageByJobId(
+            @PathVariable UUID jobId,
+            @RequestParam(value = "status", required = false) ApplicationStatus status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(jobApplicationService.getPageByJobId(
+                jobId, status, cursor, size, securityUtils.getCurrentUser()));
+    }
+
     @GetMapping("/candidate/{candidateId}")
     @PreAuthorize("hasAnyRole('RECRUITER', 'ADMIN')")
     public ResponseEntity<List<JobApplicationResponse>> getByCandidateId(@PathVariable UUID candidateId) {
@@ -1,5 +1,6 @@
 package com.smartrecruit.backend.controller;
 
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.job.JobCreateMultipartRequest;
 import com.smartrecruit.backend.dto.job.JobResponse;
 import com.smartrecruit.backend.dto.job.JobUpdateRequest;
@@ -77,6 +78,16 @@ public class JobController {
         return ResponseEntity.ok(jobService.findAll(securityUtils.getCurrentUser()));
     }
 
+    // Phân trang keyset: truyền nextCursor của trang trước vào cursor để lấy trang tiếp theo
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<JobResponse>> page(
+            @RequestParam(value = "status", required = false) JobStatus status,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(jobService.findPage(status, query, cursor, size, securityUtils.getCurrentUser()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<JobResponse> getById(@PathVariable UUID id) {
         return ResponseEntity.ok(jobService.getById(id, securityUtils.getCurrentUser()));
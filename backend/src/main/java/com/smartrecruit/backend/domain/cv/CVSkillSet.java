@@ -0,0 +1,15 @@
+package com.smartrecruit.backend.domain.cv;
+
+import com.smartrecruit.backend.domain.job.SkillBitSet;
+
+/**
+ * Skill của một CV đã chuẩn hoá theo SkillVocabulary: bitset các skill có trong từ điển,
+ * và số skill (khác nhau) không có trong từ điển, chắc chắn không trùng với skill của job nào.
+ */
+public record CVSkillSet(long[] bits, int unknownCount) {
+
+    // Tổng số skill khác nhau của CV
+    public int count() {
+        return SkillBitSet.cardinality(bits) + unknownCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartrecruit.backend.domain.job;
+
+/**
+ * Điều kiện pre-filter của một lần evaluate, đã quy đổi theo JobProfile thành ngưỡng số
+ * để kiểm tra từng CV chỉ bằng popcount trên bitset skill và so sánh số.
+ *
+ * @param minSkillOverlap    số skill của job tối thiểu CV phải có
+ * @param minExperienceYears số năm kinh nghiệm tối thiểu
+ * @param minEducationLevel  level học vấn tối thiểu (1-5)
+ */
+public record HardConstraints(
+        int minSkillOverlap,
+        double minExperienceYears,
+        int minEducationLevel
+) {
+}
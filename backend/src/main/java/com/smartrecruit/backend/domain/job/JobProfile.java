@@ -0,0 +1,53 @@
+package com.smartrecruit.backend.domain.job;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Phần phía JobDescription của feature engineering, tính một lần cho mỗi phiên bản job (jobId + updatedAt)
+ * và dùng chung (read-only) cho mọi CV, kể cả khi trích xuất song song trên nhiều thread.
+ * Bitset skill không bao giờ lộ ra ngoài: skillBits() trả về bản sao, code trên hot path dùng
+ * skillCount / intersectionCount / forEachSkill để đọc thẳng mảng bên trong mà không cấp phát.
+ *
+ * @param jobUpdatedAt    updatedAt của job lúc tạo profile, dùng để biết profile còn hợp lệ không
+ * @param skillBits       bitset (theo ID của SkillVocabulary, xem SkillBitSet) các skill job yêu cầu
+ * @param minExperience   số năm kinh nghiệm tối thiểu (0 nếu không yêu cầu)
+ * @param educationLevel  level học vấn (1-5)
+ * @param seniorityLevel  level seniority (1-4), null nếu job không ghi seniority
+ */
+public record JobProfile(
+        UUID jobId,
+        LocalDateTime jobUpdatedAt,
+        long[] skillBits,
+        double minExperience,
+        int educationLevel,
+        Integer seniorityLevel
+) {
+    public JobProfile {
+        skillBits = skillBits.clone();
+    }
+
+    // Bản sao, để profile dùng chung trong cache không bị sửa qua accessor
+    @Override
+    public long[] skillBits() {
+        return skillBits.clone();
+    }
+
+    public int skillCount() {
+        return SkillBitSet.cardinality(skillBits);
+    }
+
+    // Số skill của job có trong bitset other (vd. skill của CV)
+    public int intersectionCount(long[] other) {
+        return SkillBitSet.intersectionCount(skillBits, other);
+    }
+
+    public void forEachSkill(IntConsumer action) {
+        SkillBitSet.forEach(skillBits, action);
+    }
+
+    public boolean isProfileOf(UUID id, LocalDateTime updatedAt) {
+        return jobId.equals(id) && (jobUpdatedAt == null ? updatedAt == null : jobUpdatedAt.equals(updatedAt));
+    }
+}
@@ -0,0 +1,59 @@
+package com.smartrecruit.backend.domain.job;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Tập skill biểu diễn bằng bitset long[] theo skill ID của SkillVocabulary (bit i bật nghĩa là có skill ID i).
+ * Giao/hợp giữa hai tập skill chỉ còn là AND + popcount trên vài word, không cấp phát Set nào.
+ */
+public final class SkillBitSet {
+
+    private SkillBitSet() {
+    }
+
+    // Dựng bitset từ count ID đầu tiên của ids; ID trùng được gộp, ID âm (skill không có trong từ điển) bị bỏ qua
+    public static long[] of(int[] ids, int count) {
+        int maxId = -1;
+        for (int i = 0; i < count; i++) {
+            maxId = Math.max(maxId, ids[i]);
+        }
+
+        long[] bits = new long[(maxId >> 6) + 1];
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            if (id >= 0) {
+                bits[id >> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // |a ∩ b|; hai bitset có thể khác độ dài vì từ điển có thể cấp thêm ID sau khi bitset được tạo
+    public static int intersectionCount(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    // Gọi action với từng skill ID có trong bitset, theo thứ tự tăng dần
+    public static void forEach(long[] bits, IntConsumer action) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+}
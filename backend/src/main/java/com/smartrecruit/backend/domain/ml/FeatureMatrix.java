@@ -0,0 +1,115 @@
+package com.smartrecruit.backend.domain.ml;
+
+import com.smartrecruit.backend.dto.ml.FeatureVector;
+
+import java.util.BitSet;
+
+/**
+ * Ma trận feature row-major (rowCount * COLUMNS) cho một batch ứng viên, cột theo thứ tự FeatureVector.FEATURE_NAMES.
+ * Feature engineering ghi thẳng giá trị primitive vào đây; FeatureVector chỉ còn dùng làm DTO JSON khi gọi ML Service.
+ */
+public final class FeatureMatrix {
+
+    public static final int COLUMNS = FeatureVector.FEATURE_COUNT;
+
+    public static final int SKILL_JACCARD = 0;
+    public static final int SKILL_COVERAGE = 1;
+    public static final int SKILL_PRECISION = 2;
+    public static final int SKILL_OVERLAP_COUNT = 3;
+    public static final int JOB_SKILLS_COUNT = 4;
+    public static final int CV_SKILLS_COUNT = 5;
+    public static final int EXPERIENCE_GAP = 6;
+    public static final int EXPERIENCE_RATIO = 7;
+    public static final int EXPERIENCE_MATCH = 8;
+    public static final int JOB_EXPERIENCE_REQUIRED = 9;
+    public static final int CV_EXPERIENCE_YEARS = 10;
+    public static final int EDUCATION_GAP = 11;
+    public static final int EDUCATION_MATCH = 12;
+    public static final int JOB_EDUCATION_LEVEL = 13;
+    public static final int CV_EDUCATION_LEVEL = 14;
+    public static final int SENIORITY_MATCH_SCORE = 15;
+
+    private final double[] data;
+    private int rowCount;
+
+    public FeatureMatrix(int capacity) {
+        this.data = new double[capacity * COLUMNS];
+    }
+
+    public static FeatureMatrix of(Iterable<FeatureVector> features, int size) {
+        FeatureMatrix matrix = new FeatureMatrix(size);
+        for (FeatureVector feature : features) {
+            feature.copyTo(matrix.data, matrix.nextRowOffset());
+            matrix.commitRow();
+        }
+        return matrix;
+    }
+
+    /**
+     * Offset trong getData() của row kế tiếp. Row chỉ được tính vào ma trận sau khi gọi commitRow(),
+     * nên nếu việc ghi bị lỗi giữa chừng thì lần ghi sau sẽ ghi đè lên.
+     */
+    public int nextRowOffset() {
+        if (rowCount * COLUMNS >= data.length) {
+            throw new IllegalStateException("Feature matrix is full (" + rowCount + " rows)");
+        }
+        return rowCount * COLUMNS;
+    }
+
+    /**
+     * @return index của row vừa được thêm
+     */
+    public int commitRow() {
+        nextRowOffset();
+        return rowCount++;
+    }
+
+    /**
+     * Thêm count row liền nhau (chưa ghi dữ liệu) và trả về index của row đầu tiên.
+     * Dùng khi nhiều thread cùng ghi song song, mỗi thread ghi vào các row riêng của mình.
+     */
+    public int appendRows(int count) {
+        if ((rowCount + count) * COLUMNS > data.length) {
+            throw new IllegalStateException("Feature matrix cannot fit " + count + " more rows");
+        }
+        int first = rowCount;
+        rowCount += count;
+        return first;
+    }
+
+    // Xoá các row được đánh dấu và dồn các row phía sau lên, giữ nguyên thứ tự
+    public void removeRows(BitSet rows) {
+        int target = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rows.get(row)) {
+                continue;
+            }
+            if (target != row) {
+                System.arraycopy(data, row * COLUMNS, data, target * COLUMNS, COLUMNS);
+            }
+            target++;
+        }
+        rowCount = target;
+    }
+
+    public int rowOffset(int row) {
+        return row * COLUMNS;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    // Mảng dữ liệu dùng chung (không copy), chỉ rowCount * COLUMNS phần tử đầu là hợp lệ
+    public double[] getData() {
+        return data;
+    }
+
+    public double get(int row, int column) {
+        return data[row * COLUMNS + column];
+    }
+
+    public FeatureVector toFeatureVector(int row) {
+        return FeatureVector.fromRow(data, row * COLUMNS);
+    }
+}
@@ -0,0 +1,250 @@
+package com.smartrecruit.backend.domain.ml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gradient-boosted tree ensemble (XGBoost reg:squarederror) được nạp từ JSON tree dump.
+ *
+ * Toàn bộ node của mọi cây được trải phẳng vào các mảng primitive dùng chung (structure-of-arrays), đánh số lại theo BFS
+ * để hai node con của một split luôn nằm cạnh nhau: con trái ở firstChild[node], con phải ở firstChild[node] + 1.
+ * Nhờ vậy việc duyệt cây không cấp phát object nào và các node gần gốc (được truy cập nhiều nhất) nằm liền nhau trong bộ nhớ.
+ *
+ * Định dạng dump (xem ml/preprocessing/export_tree_dump.py):
+ * { "model_version": "...", "base_score": 0.5, "features": ["skill_jaccard", ...], "trees": [ {xgboost json dump}, ... ] }
+ */
+public final class TreeEnsemble {
+
+    // Số row được chấm trong một block khi predictBatch: block row (16 feature * 8 byte * 256) vừa L1/L2 cache
+    private static final int BATCH_BLOCK_ROWS = 256;
+
+    private final String modelVersion;
+    private final double baseScore;
+    private final int featureCount;
+
+    // Index node gốc của từng cây
+    private final int[] treeRoots;
+    // feature[node] < 0 nghĩa là node là leaf
+    private final int[] feature;
+    // XGBoost so sánh split ở độ chính xác float
+    private final float[] threshold;
+    private final int[] firstChild;
+    private final boolean[] missingLeft;
+    private final double[] leaf;
+
+    private TreeEnsemble(String modelVersion, double baseScore, int featureCount, int[] treeRoots,
+                         int[] feature, float[] threshold, int[] firstChild, boolean[] missingLeft, double[] leaf) {
+        this.modelVersion = modelVersion;
+        this.baseScore = baseScore;
+        this.featureCount = featureCount;
+        this.treeRoots = treeRoots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.firstChild = firstChild;
+        this.missingLeft = missingLeft;
+        this.leaf = leaf;
+    }
+
+    /**
+     * @param dump           nội dung file JSON tree dump
+     * @param featureNames   thứ tự feature của row khi predict
+     * @param defaultVersion model version dùng khi dump không có "model_version"
+     */
+    public static TreeEnsemble fromJson(JsonNode dump, List<String> featureNames, String defaultVersion) {
+        Map<String, Integer> featureIndex = new HashMap<>();
+        for (int i = 0; i < featureNames.size(); i++) {
+            featureIndex.put(featureNames.get(i), i);
+        }
+
+        // Nếu dump có danh sách features thì XGBoost có thể dùng "f<i>" theo thứ tự đó thay vì tên
+        List<String> dumpFeatures = new ArrayList<>();
+        dump.path("features").forEach(node -> dumpFeatures.add(node.asText()));
+        for (String name : dumpFeatures) {
+            if (!featureIndex.containsKey(name)) {
+                throw new IllegalArgumentException("Tree dump uses unknown feature: " + name);
+            }
+        }
+
+        JsonNode treesNode = dump.path("trees");
+        if (!treesNode.isArray() || treesNode.isEmpty()) {
+            throw new IllegalArgumentException("Tree dump contains no trees");
+        }
+
+        Builder builder = new Builder(featureIndex, dumpFeatures);
+        int[] treeRoots = new int[treesNode.size()];
+        for (int t = 0; t < treeRoots.length; t++) {
+            treeRoots[t] = builder.addTree(treesNode.get(t));
+        }
+
+        String version = dump.hasNonNull("model_version") ? dump.get("model_version").asText() : defaultVersion;
+        int size = builder.size;
+        return new TreeEnsemble(version, dump.path("base_score").asDouble(0.5), featureNames.size(), treeRoots,
+                Arrays.copyOf(builder.feature, size), Arrays.copyOf(builder.threshold, size),
+                Arrays.copyOf(builder.firstChild, size), Arrays.copyOf(builder.missingLeft, size),
+                Arrays.copyOf(builder.leaf, size));
+    }
+
+    /**
+     * Tính raw prediction (base_score + tổng leaf value) cho một row có featureCount phần tử. NaN được coi là missing.
+     */
+    public double predict(double[] row) {
+        double sum = baseScore;
+        for (int root : treeRoots) {
+            sum += leafValue(row, 0, root);
+        }
+        return sum;
+    }
+
+    /**
+     * Chấm điểm cả batch: rows là ma trận row-major (rowCount * featureCount), kết quả raw prediction ghi vào out.
+     * Duyệt theo thứ tự cây ngoài, row trong (trên từng block row) để node của một cây được giữ nóng trong cache
+     * và pattern rẽ nhánh của cùng một cây lặp lại liên tiếp, thay vì đi qua toàn bộ ensemble cho mỗi row.
+     */
+    public void predictBatch(double[] rows, int rowCount, double[] out) {
+        if (rows.length < rowCount * featureCount || out.length < rowCount) {
+            throw new IllegalArgumentException("Batch buffers are smaller than rowCount " + rowCount);
+        }
+        Arrays.fill(out, 0, rowCount, baseScore);
+
+        for (int blockStart = 0; blockStart < rowCount; blockStart += BATCH_BLOCK_ROWS) {
+            int blockEnd = Math.min(rowCount, blockStart + BATCH_BLOCK_ROWS);
+            for (int root : treeRoots) {
+                for (int r = blockStart; r < blockEnd; r++) {
+                    out[r] += leafValue(rows, r * featureCount, root);
+                }
+            }
+        }
+    }
+
+    private double leafValue(double[] rows, int offset, int root) {
+        int node = root;
+        int f;
+        while ((f = feature[node]) >= 0) {
+            double x = rows[offset + f];
+            boolean goLeft = Double.isNaN(x) ? missingLeft[node] : (float) x < threshold[node];
+            node = firstChild[node] + (goLeft ? 0 : 1);
+        }
+        return leaf[node];
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    public int getTreeCount() {
+        return treeRoots.length;
+    }
+
+    public int getNodeCount() {
+        return feature.length;
+    }
+
+    // Gom node của từng cây vào các mảng dùng chung, cấp phát hai con của mỗi split ở hai slot liên tiếp
+    private static final class Builder {
+        private final Map<String, Integer> featureIndex;
+        private final List<String> dumpFeatures;
+
+        private int[] feature = new int[256];
+        private float[] threshold = new float[256];
+        private int[] firstChild = new int[256];
+        private boolean[] missingLeft = new boolean[256];
+        private double[] leaf = new double[256];
+        private int size;
+
+        Builder(Map<String, Integer> featureIndex, List<String> dumpFeatures) {
+            this.featureIndex = featureIndex;
+            this.dumpFeatures = dumpFeatures;
+        }
+
+        int addTree(JsonNode root) {
+            Map<Integer, JsonNode> nodesById = new HashMap<>();
+            collect(root, nodesById);
+
+            int rootSlot = allocate(1);
+            Deque<int[]> queue = new ArrayDeque<>();
+            queue.add(new int[]{root.path("nodeid").asInt(), rootSlot});
+            int visited = 0;
+
+            while (!queue.isEmpty()) {
+                int[] entry = queue.poll();
+                JsonNode node = nodesById.get(entry[0]);
+                int slot = entry[1];
+                if (node == null || ++visited > nodesById.size()) {
+                    throw new IllegalArgumentException("Tree dump references missing nodeid: " + entry[0]);
+                }
+
+                if (node.has("leaf")) {
+                    feature[slot] = -1;
+                    leaf[slot] = node.get("leaf").asDouble();
+                    continue;
+                }
+
+                int yes = node.path("yes").asInt();
+                int no = node.path("no").asInt();
+                int children = allocate(2);
+                feature[slot] = resolveFeature(node.path("split").asText());
+                threshold[slot] = (float) node.path("split_condition").asDouble();
+                firstChild[slot] = children;
+                missingLeft[slot] = node.path("missing").asInt(yes) == yes;
+                queue.add(new int[]{yes, children});
+                queue.add(new int[]{no, children + 1});
+            }
+            return rootSlot;
+        }
+
+        private int allocate(int count) {
+            if (size + count > feature.length) {
+                int capacity = Math.max(feature.length * 2, size + count);
+                feature = Arrays.copyOf(feature, capacity);
+                threshold = Arrays.copyOf(threshold, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                missingLeft = Arrays.copyOf(missingLeft, capacity);
+                leaf = Arrays.copyOf(leaf, capacity);
+            }
+            int start = size;
+            size += count;
+            return start;
+        }
+
+        private static void collect(JsonNode node, Map<Integer, JsonNode> out) {
+            int id = node.path("nodeid").asInt(-1);
+            if (id < 0 || out.put(id, node) != null) {
+                throw new IllegalArgumentException("Tree dump has invalid nodeid: " + id);
+            }
+            for (JsonNode child : node.path("children")) {
+                collect(child, out);
+            }
+        }
+
+        private int resolveFeature(String split) {
+            Integer index = featureIndex.get(split);
+            if (index != null) {
+                return index;
+            }
+            // Model train bằng numpy array: split có dạng "f3"
+            if (split.length() > 1 && split.charAt(0) == 'f') {
+                try {
+                    int position = Integer.parseInt(split.substring(1));
+                    if (position < dumpFeatures.size()) {
+                        return featureIndex.get(dumpFeatures.get(position));
+                    }
+                    if (position < featureIndex.size()) {
+                        return position;
+                    }
+                } catch (NumberFormatException ignored) {}
+            }
+            throw new IllegalArgumentException("Tree dump uses unknown split feature: " + split);
+        }
+    }
+}
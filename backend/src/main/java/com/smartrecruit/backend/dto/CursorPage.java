@@ -0,0 +1,39 @@
+package com.smartrecruit.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Một trang kết quả phân trang theo keyset. Gửi lại nextCursor ở request sau để lấy trang tiếp theo;
+ * nextCursor = null nghĩa là đã hết dữ liệu.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    /**
+     * @param rows     kết quả query với LIMIT size + 1; row thừa chỉ dùng để biết còn trang sau hay không
+     * @param cursorOf cursor trỏ tới sau item cuối cùng của trang
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.smartrecruit.backend.dto.admin;
+
+import java.time.LocalDateTime;
+
+// Một sự kiện cho mục Recent Activity: chỉ gồm thời điểm, tên người thực hiện và tên đối tượng
+public record ActivityRow(
+        LocalDateTime time,
+        String userName,
+        String target
+) {
+}
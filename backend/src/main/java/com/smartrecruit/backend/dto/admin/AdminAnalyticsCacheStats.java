@@ -0,0 +1,27 @@
+package com.smartrecruit.backend.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminAnalyticsCacheStats {
+    // HIT: snapshot còn hạn, STALE: trả snapshot cũ trong lúc refresh nền, MISS: chưa có snapshot nên phải tính ngay
+    private long hits;
+    private long staleHits;
+    private long misses;
+    // (hits + staleHits) / tổng số request
+    private double hitRate;
+
+    private long ttlSeconds;
+    // Null khi chưa có snapshot
+    private Long snapshotAgeSeconds;
+    private boolean refreshing;
+    private long refreshCount;
+    private long refreshFailures;
+    private long lastRefreshDurationMs;
+}
@@ -0,0 +1,23 @@
+package com.smartrecruit.backend.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Thống kê của một cache in-memory có giới hạn số entry
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+    private String name;
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    // hits / (hits + misses)
+    private double hitRate;
+    // Entry bị xoá vì đã hết hạn
+    private long expiredEvictions;
+}
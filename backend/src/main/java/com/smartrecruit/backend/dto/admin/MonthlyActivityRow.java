@@ -0,0 +1,11 @@
+package com.smartrecruit.backend.dto.admin;
+
+// Tổng số job, candidate và lần evaluate của một tháng, cộng từ các row rollup theo ngày
+public record MonthlyActivityRow(
+        Integer year,
+        Integer month,
+        Long jobs,
+        Long candidates,
+        Long evaluations
+) {
+}
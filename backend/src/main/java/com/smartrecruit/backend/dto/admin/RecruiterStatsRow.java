@@ -0,0 +1,12 @@
+package com.smartrecruit.backend.dto.admin;
+
+import java.math.BigDecimal;
+
+// Số job, số evaluation và tổng điểm trên các job của một recruiter, đọc từ rollup; null khi recruiter chưa có job nào
+public record RecruiterStatsRow(
+        String fullName,
+        Long jobs,
+        Long evaluations,
+        BigDecimal scoreSum
+) {
+}
@@ -0,0 +1,12 @@
+package com.smartrecruit.backend.dto.admin;
+
+import java.math.BigDecimal;
+
+// Tổng toàn hệ thống cộng từ các row rollup theo ngày; các giá trị là null khi chưa có row nào
+public record SystemTotalsRow(
+        Long jobs,
+        Long candidates,
+        Long evaluations,
+        BigDecimal scoreSum
+) {
+}
@@ -0,0 +1,23 @@
+package com.smartrecruit.backend.dto.application;
+
+import com.smartrecruit.backend.enums.ApplicationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Một application kèm điểm evaluation (nếu có), đọc bằng một query cho cả trang thay vì tìm evaluation cho từng application
+public record JobApplicationRow(
+        UUID id,
+        UUID jobId,
+        UUID candidateId,
+        String candidateName,
+        String candidateEmail,
+        UUID cvId,
+        String cvFilePath,
+        ApplicationStatus status,
+        LocalDateTime appliedAt,
+        LocalDateTime updatedAt,
+        BigDecimal score
+) {
+}
@@ -0,0 +1,30 @@
+package com.smartrecruit.backend.dto.candidate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResponse {
+
+    private UUID candidateId;
+    private String candidateName;
+    private String candidateEmail;
+
+    // CV khớp truy vấn (một candidate có thể xuất hiện nhiều lần nếu có nhiều CV khớp)
+    private UUID cvId;
+    private LocalDateTime uploadedAt;
+
+    private String highestDegree;
+    private Integer totalYears;
+
+    // 0-1, càng cao càng liên quan; 0 khi chỉ lọc mà không có từ khoá
+    private Double relevance;
+}
@@ -0,0 +1,24 @@
+package com.smartrecruit.backend.dto.candidate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Một CV khớp truy vấn full-text, kèm thông tin candidate và độ liên quan (ts_rank_cd)
+public interface CandidateSearchRow {
+
+    UUID getCvId();
+
+    UUID getCandidateId();
+
+    String getCandidateName();
+
+    String getCandidateEmail();
+
+    String getHighestDegree();
+
+    Integer getTotalYears();
+
+    LocalDateTime getUploadedAt();
+
+    Double getRelevance();
+}
@@ -20,8 +20,12 @@ public class CandidateScoreDTO {
 
     private Double score;
 
+    // Null với ứng viên FILTERED: vẫn được liệt kê nhưng không được xếp hạng
     private Integer rank;
 
+    // Chỉ có ở API ranking: phần trăm ứng viên của job xếp sau ứng viên này (0-100); ứng viên cùng điểm vẫn có percentile khác nhau
+    private Double percentile;
+
     private Double confidence;
 
     private String status;
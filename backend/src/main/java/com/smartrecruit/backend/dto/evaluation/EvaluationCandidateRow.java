@@ -0,0 +1,16 @@
+package com.smartrecruit.backend.dto.evaluation;
+
+import com.smartrecruit.backend.domain.cv.CVFeatures;
+
+import java.util.UUID;
+
+/**
+ * Một ứng viên cần chấm điểm: chỉ gồm các cột evaluation thực sự dùng tới (không load extractedText của CV).
+ * applicationId là khoá keyset khi đọc ứng viên theo từng cửa sổ.
+ */
+public record EvaluationCandidateRow(
+        UUID applicationId,
+        UUID cvId,
+        CVFeatures features
+) {
+}
@@ -0,0 +1,33 @@
+package com.smartrecruit.backend.dto.evaluation;
+
+import com.smartrecruit.backend.enums.EvaluationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationJobStatusResponse {
+
+    // EvaluationHistory ID, dùng để poll trạng thái và lấy kết quả sau khi hoàn tất
+    private UUID evaluationId;
+    private UUID jobId;
+
+    private EvaluationStatus status;
+
+    private Integer totalCandidates;
+    private Integer processedCount;
+    private Integer successCount;
+    private Integer failureCount;
+    private Integer filteredCount;
+
+    private String errorMessage;
+
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,35 @@
+package com.smartrecruit.backend.dto.evaluation;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Điều kiện bắt buộc kiểm tra trước khi chấm điểm; CV không đạt được ghi nhận là FILTERED và không qua model.
+ * Trường nào null thì không kiểm tra điều kiện đó.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationPreFilter {
+
+    // Tỉ lệ skill của job mà CV phải có (0-1)
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Double minSkillCoverage;
+
+    // Số năm kinh nghiệm tối thiểu, tính theo tỉ lệ với minExperience của job (1.0 = đúng bằng yêu cầu)
+    @DecimalMin("0.0")
+    private Double minExperienceRatio;
+
+    // Level học vấn tối thiểu: 1 = khác, 2 = associate/diploma, 3 = bachelor, 4 = master/MBA, 5 = PhD
+    @Min(1)
+    @Max(5)
+    private Integer minEducationLevel;
+}
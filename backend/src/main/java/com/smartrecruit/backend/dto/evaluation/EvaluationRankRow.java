@@ -0,0 +1,11 @@
+package com.smartrecruit.backend.dto.evaluation;
+
+import java.util.UUID;
+
+// Vị trí của một evaluation trong bảng xếp hạng của job, tính bằng window function phía database
+public interface EvaluationRankRow {
+
+    UUID getId();
+
+    Long getRank();
+}
@@ -0,0 +1,29 @@
+package com.smartrecruit.backend.dto.evaluation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationRankingResponse {
+
+    private UUID jobId;
+    private String jobTitle;
+
+    // Tổng số ứng viên đã chấm của job (không phụ thuộc minScore/topK, không gồm CV bị pre-filter loại), dùng làm mẫu số cho percentile.
+    // Đếm ở trang đầu, các trang sau giữ nguyên giá trị này
+    private Long totalEvaluated;
+
+    private List<CandidateScoreDTO> candidates;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+}
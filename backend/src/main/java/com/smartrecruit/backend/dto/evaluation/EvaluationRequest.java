@@ -1,5 +1,6 @@
 package com.smartrecruit.backend.dto.evaluation;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,4 +24,8 @@ public class EvaluationRequest {
     // Nếu true, sẽ bỏ qua cache và đánh giá lại tất cả CV, kể cả những CV đã từng được đánh giá trước đó
     @Builder.Default
     private Boolean forceReEvaluation = false;
+
+    // Điều kiện bắt buộc để loại sớm các CV trước khi chấm điểm (không bắt buộc)
+    @Valid
+    private EvaluationPreFilter preFilter;
 }
@@ -27,6 +27,9 @@ public class EvaluationResponse {
 
     private Integer failureCount;
 
+    // Số CV bị loại bởi pre-filter, không được chấm điểm
+    private Integer filteredCount;
+
     private LocalDateTime evaluatedAt;
 
     private String modelVersion;
@@ -0,0 +1,27 @@
+package com.smartrecruit.backend.dto.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Một job đang mở tuyển phù hợp với CV, kèm điểm model chấm cho cặp (job, CV)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobMatchResponse {
+
+    private UUID jobId;
+    private String jobTitle;
+    private UUID recruiterId;
+
+    private Double score;
+
+    private Integer rank;
+
+    // Số skill của CV trùng với skill job yêu cầu
+    private Integer skillOverlap;
+}
@@ -7,12 +7,37 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
 public class FeatureVector {
+
+    // Thứ tự feature khi đưa vào model (giống với baseline_model_metadata.json và ml_service Predictor)
+    public static final List<String> FEATURE_NAMES = List.of(
+            "skill_jaccard",
+            "skill_coverage",
+            "skill_precision",
+            "skill_overlap_count",
+            "job_skills_count",
+            "cv_skills_count",
+            "experience_gap",
+            "experience_ratio",
+            "experience_match",
+            "job_experience_required",
+            "cv_experience_years",
+            "education_gap",
+            "education_match",
+            "job_education_level",
+            "cv_education_level",
+            "seniority_match_score"
+    );
+
+    public static final int FEATURE_COUNT = FEATURE_NAMES.size();
+
     @JsonProperty("skill_jaccard")
     private Double skillJaccard;
     
@@ -60,5 +85,50 @@ public class FeatureVector {
     
     @JsonProperty("seniority_match_score")
     private Integer seniorityMatchScore;
-}
 
+    // Ghi các feature vào rows bắt đầu từ offset theo thứ tự FEATURE_NAMES, giá trị null được ghi là NaN (missing)
+    public void copyTo(double[] rows, int offset) {
+        rows[offset] = valueOf(skillJaccard);
+        rows[offset + 1] = valueOf(skillCoverage);
+        rows[offset + 2] = valueOf(skillPrecision);
+        rows[offset + 3] = valueOf(skillOverlapCount);
+        rows[offset + 4] = valueOf(jobSkillsCount);
+        rows[offset + 5] = valueOf(cvSkillsCount);
+        rows[offset + 6] = valueOf(experienceGap);
+        rows[offset + 7] = valueOf(experienceRatio);
+        rows[offset + 8] = valueOf(experienceMatch);
+        rows[offset + 9] = valueOf(jobExperienceRequired);
+        rows[offset + 10] = valueOf(cvExperienceYears);
+        rows[offset + 11] = valueOf(educationGap);
+        rows[offset + 12] = valueOf(educationMatch);
+        rows[offset + 13] = valueOf(jobEducationLevel);
+        rows[offset + 14] = valueOf(cvEducationLevel);
+        rows[offset + 15] = valueOf(seniorityMatchScore);
+    }
+
+    // Ngược lại với copyTo: đọc một row của ma trận feature thành DTO để gửi JSON sang ML Service
+    public static FeatureVector fromRow(double[] rows, int offset) {
+        return FeatureVector.builder()
+                .skillJaccard(rows[offset])
+                .skillCoverage(rows[offset + 1])
+                .skillPrecision(rows[offset + 2])
+                .skillOverlapCount((int) rows[offset + 3])
+                .jobSkillsCount((int) rows[offset + 4])
+                .cvSkillsCount((int) rows[offset + 5])
+                .experienceGap(rows[offset + 6])
+                .experienceRatio(rows[offset + 7])
+                .experienceMatch((int) rows[offset + 8])
+                .jobExperienceRequired(rows[offset + 9])
+                .cvExperienceYears(rows[offset + 10])
+                .educationGap((int) rows[offset + 11])
+                .educationMatch((int) rows[offset + 12])
+                .jobEducationLevel((int) rows[offset + 13])
+                .cvEducationLevel((int) rows[offset + 14])
+                .seniorityMatchScore((int) rows[offset + 15])
+                .build();
+    }
+
+    private static double valueOf(Number value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartrecruit.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Đánh dấu các lần dựng rollup từ bảng gốc đã hoàn tất (AnalyticsRollupInitializer), để không dựng lại ở mỗi lần khởi động
+@Entity
+@Table(name = "analytics_backfills")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsBackfill {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -9,7 +9,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "candidates")
+@Table(
+    name = "candidates",
+    // Keyset (created_at DESC, id DESC) của danh sách candidate
+    indexes = @Index(name = "idx_candidates_created_at_id", columnList = "created_at DESC, id DESC")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,40 @@
+package com.smartrecruit.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Số liệu cộng dồn theo ngày cho dashboard admin, được cập nhật cùng transaction với các thao tác ghi (AnalyticsRollupService)
+@Entity
+@Table(name = "daily_activity_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyActivityRollup {
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    // Job/candidate được tạo trong ngày (trừ đi khi bị xoá)
+    @Column(name = "jobs_created", nullable = false)
+    private long jobsCreated;
+
+    @Column(name = "candidates_added", nullable = false)
+    private long candidatesAdded;
+
+    // Số lần chạy evaluation (EvaluationHistory)
+    @Column(name = "evaluations_run", nullable = false)
+    private long evaluationsRun;
+
+    // Tổng điểm và số Evaluation hiện có, theo ngày evaluated_at của evaluation (không gồm FILTERED).
+    // Đánh giá lại ghi đè thì trừ điểm cũ khỏi ngày chấm cũ và cộng điểm mới vào ngày chấm mới
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal scoreSum;
+
+    @Column(name = "score_count", nullable = false)
+    private long scoreCount;
+}
@@ -1,8 +1,13 @@
 package com.smartrecruit.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartrecruit.backend.dto.evaluation.CandidateExplainabilityDTO;
+import com.smartrecruit.backend.dto.ml.FeatureVector;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +20,8 @@ import java.util.UUID;
     name = "evaluations",
     uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "cv_id"}),
     indexes = {
-        @Index(name = "idx_evaluations_job_score", columnList = "job_id, score DESC"),
+        // Phủ đủ thứ tự keyset (score DESC, id DESC) của bảng xếp hạng
+        @Index(name = "idx_evaluations_job_score_id", columnList = "job_id, score DESC, id DESC"),
         @Index(name = "idx_evaluations_evaluated_at", columnList = "evaluated_at")
     }
 )
@@ -25,8 +31,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class Evaluation {
+    // UUID sinh phía client (version 7, tăng dần theo thời gian): không cần round-trip lấy ID nên insert gom được thành JDBC batch,
+    // và ID mới luôn nằm cuối B-tree index thay vì rải ngẫu nhiên
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -39,7 +48,18 @@ public class Evaluation {
     @Column(name = "model_version", length = 50)
     private String modelVersion;
 
-    @Column(name = "evaluated_at", nullable = false, updatable = false)
+    // Feature vector và explainability tại thời điểm chấm điểm, để đọc lại kết quả mà không phải tính lại feature.
+    // Null với các evaluation cũ (trước khi có 2 cột này) hoặc evaluation bị FAILED
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private FeatureVector features;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private CandidateExplainabilityDTO explainability;
+
+    // Thời điểm chấm điểm gần nhất: được cập nhật khi đánh giá lại ghi đè lên evaluation cũ (xem EvaluationService.evaluationFor)
+    @Column(name = "evaluated_at", nullable = false)
     private LocalDateTime evaluatedAt;
 
     @PrePersist
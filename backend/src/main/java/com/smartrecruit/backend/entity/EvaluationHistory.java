@@ -1,5 +1,6 @@
 package com.smartrecruit.backend.entity;
 
+import com.smartrecruit.backend.enums.EvaluationStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "evaluation_history")
+@Table(
+    name = "evaluation_history",
+    indexes = @Index(name = "idx_evaluation_history_evaluation_time", columnList = "evaluation_time")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -47,6 +51,21 @@ public class EvaluationHistory {
     @Column(name = "failure_count")
     private Integer failureCount;
 
+    // Số CV bị loại bởi pre-filter (không chấm điểm); null với các lịch sử cũ
+    @Column(name = "filtered_count")
+    private Integer filteredCount;
+
+    // Số CV đã xử lý xong (thành công + thất bại + bị loại), được cập nhật sau mỗi chunk khi chạy nền
+    @Column(name = "processed_count")
+    private Integer processedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private EvaluationStatus status;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
     // Một Evaluation History có thể track được nhiều Evaluations nhỏ khác (trên mỗi Candidate)
     @OneToMany(mappedBy = "evaluationHistory", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
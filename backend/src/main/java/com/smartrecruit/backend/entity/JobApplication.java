@@ -18,6 +18,8 @@ import java.util.UUID;
     uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "cv_id"}),
     indexes = {
         @Index(name = "idx_job_applications_job", columnList = "job_id"),
+        @Index(name = "idx_job_applications_job_id_keyset", columnList = "job_id, id"),
+        @Index(name = "idx_job_applications_job_applied_at", columnList = "job_id, applied_at DESC, id DESC"),
         @Index(name = "idx_job_applications_candidate", columnList = "candidate_id"),
         @Index(name = "idx_job_applications_status", columnList = "status")
     }
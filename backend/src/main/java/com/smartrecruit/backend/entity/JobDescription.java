@@ -13,7 +13,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name="job_descriptions")
+@Table(
+    name = "job_descriptions",
+    // Dashboard admin đếm theo tháng và lấy các bản ghi mới nhất theo cột thời gian này; id để phủ thứ tự keyset
+    indexes = @Index(name = "idx_job_descriptions_created_at_id", columnList = "created_at DESC, id DESC")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,33 @@
+package com.smartrecruit.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Số liệu cộng dồn theo recruiter (trên các job của recruiter đó) cho mục Top Recruiters của dashboard admin
+@Entity
+@Table(name = "recruiter_activity_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecruiterActivityRollup {
+    @Id
+    @Column(name = "recruiter_id", columnDefinition = "UUID")
+    private UUID recruiterId;
+
+    @Column(name = "jobs_created", nullable = false)
+    private long jobsCreated;
+
+    @Column(name = "evaluations_run", nullable = false)
+    private long evaluationsRun;
+
+    @Column(name = "score_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal scoreSum;
+
+    @Column(name = "score_count", nullable = false)
+    private long scoreCount;
+}
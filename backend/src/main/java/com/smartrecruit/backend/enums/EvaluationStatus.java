@@ -0,0 +1,8 @@
+package com.smartrecruit.backend.enums;
+
+public enum EvaluationStatus {
+    QUEUED,     // Đã nhận yêu cầu, đang chờ executor xử lý
+    RUNNING,    // Đang chấm điểm các CV
+    COMPLETED,  // Đã chấm điểm xong toàn bộ CV
+    FAILED      // Bị dừng giữa chừng (ví dụ: ML Service không khả dụng)
+}
@@ -0,0 +1,9 @@
+package com.smartrecruit.backend.repository;
+
+import com.smartrecruit.backend.entity.AnalyticsBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalyticsBackfillRepository extends JpaRepository<AnalyticsBackfill, String> {
+}
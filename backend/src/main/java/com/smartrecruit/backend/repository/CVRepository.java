@@ -1,5 +1,7 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.domain.cv.CVFeatures;
+import com.smartrecruit.backend.dto.candidate.CandidateSearchRow;
 import com.smartrecruit.backend.entity.CV;
 import com.smartrecruit.backend.entity.Candidate;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -22,6 +24,38 @@ public interface CVRepository extends JpaRepository<CV, UUID> {
     @Query("SELECT c FROM CV c LEFT JOIN FETCH c.candidate WHERE c.id = :cvId")
     Optional<CV> findByIdWithCandidate(@Param("cvId") UUID cvId);
 
+    // Chỉ đọc cột features (không load extractedText); empty khi CV không tồn tại hoặc chưa được parse
+    @Query("SELECT c.features FROM CV c WHERE c.id = :cvId AND c.features IS NOT NULL")
+    Optional<CVFeatures> findFeaturesById(@Param("cvId") UUID cvId);
+
+    /**
+     * Full-text search trên cột search_vector (GIN index, xem CVSearchIndexInitializer). query theo cú pháp websearch:
+     * "cụm từ" để tìm theo phrase, OR, -từ để loại trừ. Chuỗi rỗng = không lọc theo từ khoá.
+     * skill, degree phải đã lowercase; minYears = null là không lọc.
+     */
+    @Query(value = "SELECT cv.id AS cvId, c.id AS candidateId, c.full_name AS candidateName, c.email AS candidateEmail, " +
+                   "  cv.features -> 'education' ->> 'highestDegree' AS highestDegree, " +
+                   "  CAST(cv.features -> 'experience' ->> 'totalYears' AS integer) AS totalYears, " +
+                   "  cv.uploaded_at AS uploadedAt, " +
+                   "  CASE WHEN :query = '' THEN 0 " +
+                   "       ELSE ts_rank_cd(cv.search_vector, websearch_to_tsquery('simple', :query), 32) END AS relevance " +
+                   "FROM cvs cv JOIN candidates c ON c.id = cv.candidate_id " +
+                   "WHERE (:query = '' OR cv.search_vector @@ websearch_to_tsquery('simple', :query)) " +
+                   "AND (:skill = '' OR cv.features -> 'skills' -> 'domainSkills' @> jsonb_build_array(CAST(:skill AS text))) " +
+                   "AND (:degree = '' OR lower(cv.features -> 'education' ->> 'highestDegree') = :degree) " +
+                   "AND (CAST(:minYears AS integer) IS NULL " +
+                   "     OR CAST(cv.features -> 'experience' ->> 'totalYears' AS integer) >= CAST(:minYears AS integer)) " +
+                   "ORDER BY relevance DESC, cv.uploaded_at DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<CandidateSearchRow> search(
+        @Param("query") String query,
+        @Param("skill") String skill,
+        @Param("degree") String degree,
+        @Param("minYears") Integer minYears,
+        @Param("limit") int limit
+    );
+
     List<CV> findByUploadedAtAfter(LocalDateTime date);
 
     List<CV> findByUploadedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,4 +28,30 @@ public interface CandidateRepository extends JpaRepository<Candidate, UUID> {
     Optional<Candidate> findByIdWithCvs(@Param("id") UUID id);
 
     long count();
+
+    // Keyset theo (createdAt DESC, id DESC) trên idx_candidates_created_at_id; afterId = null là trang đầu
+    default List<Candidate> findPage(String pattern, LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        return afterId == null
+                ? findFirstPage(pattern, limit)
+                : findPageAfter(pattern, afterCreatedAt, afterId, limit);
+    }
+
+    @Query("SELECT c FROM Candidate c " +
+           "WHERE (:pattern IS NULL OR LOWER(c.fullName) LIKE :pattern OR LOWER(c.email) LIKE :pattern) " +
+           "ORDER BY c.createdAt DESC, c.id DESC " +
+           "LIMIT :limit")
+    List<Candidate> findFirstPage(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    // So sánh theo row value để Postgres dùng index range scan bắt đầu ngay sau cursor thay vì lọc từ đầu index
+    @Query("SELECT c FROM Candidate c " +
+           "WHERE (:pattern IS NULL OR LOWER(c.fullName) LIKE :pattern OR LOWER(c.email) LIKE :pattern) " +
+           "AND (c.createdAt, c.id) < (:afterCreatedAt, :afterId) " +
+           "ORDER BY c.createdAt DESC, c.id DESC " +
+           "LIMIT :limit")
+    List<Candidate> findPageAfter(
+        @Param("pattern") String pattern,
+        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
 }
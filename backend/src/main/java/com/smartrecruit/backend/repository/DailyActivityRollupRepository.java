@@ -0,0 +1,70 @@
+package com.smartrecruit.backend.repository;
+
+import com.smartrecruit.backend.dto.admin.MonthlyActivityRow;
+import com.smartrecruit.backend.dto.admin.SystemTotalsRow;
+import com.smartrecruit.backend.entity.DailyActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, LocalDate> {
+
+    // Cộng delta vào row của ngày (tạo row nếu chưa có) bằng một câu upsert, an toàn khi nhiều transaction cùng ghi
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollups " +
+                   "(activity_date, jobs_created, candidates_added, evaluations_run, score_sum, score_count) " +
+                   "VALUES (:date, :jobs, :candidates, :evaluationsRun, :scoreSum, :scoreCount) " +
+                   "ON CONFLICT (activity_date) DO UPDATE SET " +
+                   "jobs_created = daily_activity_rollups.jobs_created + EXCLUDED.jobs_created, " +
+                   "candidates_added = daily_activity_rollups.candidates_added + EXCLUDED.candidates_added, " +
+                   "evaluations_run = daily_activity_rollups.evaluations_run + EXCLUDED.evaluations_run, " +
+                   "score_sum = daily_activity_rollups.score_sum + EXCLUDED.score_sum, " +
+                   "score_count = daily_activity_rollups.score_count + EXCLUDED.score_count",
+           nativeQuery = true)
+    void addActivity(
+        @Param("date") LocalDate date,
+        @Param("jobs") long jobs,
+        @Param("candidates") long candidates,
+        @Param("evaluationsRun") long evaluationsRun,
+        @Param("scoreSum") BigDecimal scoreSum,
+        @Param("scoreCount") long scoreCount
+    );
+
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.MonthlyActivityRow(" +
+           "YEAR(d.activityDate), MONTH(d.activityDate), SUM(d.jobsCreated), SUM(d.candidatesAdded), SUM(d.evaluationsRun)) " +
+           "FROM DailyActivityRollup d WHERE d.activityDate >= :from " +
+           "GROUP BY YEAR(d.activityDate), MONTH(d.activityDate)")
+    List<MonthlyActivityRow> sumByMonthSince(@Param("from") LocalDate from);
+
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.SystemTotalsRow(" +
+           "SUM(d.jobsCreated), SUM(d.candidatesAdded), SUM(d.scoreCount), SUM(d.scoreSum)) " +
+           "FROM DailyActivityRollup d")
+    SystemTotalsRow sumTotals();
+
+    // Khoá cả hai bảng rollup tới hết transaction: EXCLUSIVE chặn các upsert addActivity (ROW EXCLUSIVE) nhưng vẫn cho đọc
+    @Modifying
+    @Query(value = "LOCK TABLE daily_activity_rollups, recruiter_activity_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockRollupTables();
+
+    // Dựng lại toàn bộ rollup theo ngày từ dữ liệu hiện có, chỉ chạy trên bảng rollup trống (xem AnalyticsRollupInitializer).
+    // Evaluation FILTERED không được chấm điểm nên bỏ qua (giống AnalyticsRollupService.recordEvaluationResults)
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollups " +
+                   "(activity_date, jobs_created, candidates_added, evaluations_run, score_sum, score_count) " +
+                   "SELECT activity_date, SUM(jobs), SUM(candidates), SUM(runs), SUM(score), SUM(scored) FROM (" +
+                   "  SELECT CAST(created_at AS date) AS activity_date, 1 AS jobs, 0 AS candidates, 0 AS runs, 0 AS score, 0 AS scored FROM job_descriptions" +
+                   "  UNION ALL SELECT CAST(created_at AS date), 0, 1, 0, 0, 0 FROM candidates" +
+                   "  UNION ALL SELECT CAST(evaluation_time AS date), 0, 0, 1, 0, 0 FROM evaluation_history" +
+                   "  UNION ALL SELECT CAST(evaluated_at AS date), 0, 0, 0, score, 1 FROM evaluations" +
+                   "    WHERE model_version IS DISTINCT FROM 'FILTERED'" +
+                   ") activity GROUP BY activity_date",
+           nativeQuery = true)
+    int backfill();
+}
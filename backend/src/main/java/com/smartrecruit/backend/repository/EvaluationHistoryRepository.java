@@ -1,7 +1,10 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.dto.admin.ActivityRow;
 import com.smartrecruit.backend.entity.EvaluationHistory;
+import com.smartrecruit.backend.enums.EvaluationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -36,4 +39,32 @@ public interface EvaluationHistoryRepository extends JpaRepository<EvaluationHis
     Optional<EvaluationHistory> findByIdWithEvaluations(@Param("id") UUID id);
 
     long countByJobDescriptionId(UUID jobId);
+
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.ActivityRow(eh.evaluationTime, u.fullName, j.title) " +
+           "FROM EvaluationHistory eh JOIN eh.evaluatedBy u JOIN eh.jobDescription j " +
+           "ORDER BY eh.evaluationTime DESC " +
+           "LIMIT :limit")
+    List<ActivityRow> findRecentActivity(@Param("limit") int limit);
+
+    // Cập nhật counters bằng bulk update để không phải merge entity (tránh orphan removal trên collection evaluations)
+    @Modifying
+    @Query("UPDATE EvaluationHistory eh " +
+           "SET eh.processedCount = :processed, eh.successCount = :success, eh.failureCount = :failure, " +
+           "    eh.filteredCount = :filtered " +
+           "WHERE eh.id = :id")
+    int updateProgress(
+        @Param("id") UUID id,
+        @Param("processed") int processed,
+        @Param("success") int success,
+        @Param("failure") int failure,
+        @Param("filtered") int filtered
+    );
+
+    @Modifying
+    @Query("UPDATE EvaluationHistory eh SET eh.status = :status, eh.errorMessage = :errorMessage WHERE eh.id = :id")
+    int updateStatus(
+        @Param("id") UUID id,
+        @Param("status") EvaluationStatus status,
+        @Param("errorMessage") String errorMessage
+    );
 }
@@ -1,18 +1,24 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.dto.evaluation.EvaluationRankRow;
 import com.smartrecruit.backend.entity.Evaluation;
 import com.smartrecruit.backend.entity.JobDescription;
 import com.smartrecruit.backend.entity.CV;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EvaluationRepository extends JpaRepository<Evaluation, UUID> {
@@ -21,6 +27,9 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, UUID> {
 
     Optional<Evaluation> findByJobIdAndCvId(UUID jobId, UUID cvId);
 
+    // Lấy kết quả đã có của cả một chunk CV trong một query
+    List<Evaluation> findByJobIdAndCvIdIn(UUID jobId, Collection<UUID> cvIds);
+
     @Query("SELECT e FROM Evaluation e WHERE e.job.id = :jobId ORDER BY e.score DESC")
     List<Evaluation> findByJobIdOrderByScoreDesc(@Param("jobId") UUID jobId);
 
@@ -30,6 +39,12 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, UUID> {
            "WHERE e.job.id = :jobId ORDER BY e.score DESC")
     List<Evaluation> findByJobIdWithCandidatesOrderByScore(@Param("jobId") UUID jobId);
 
+    @Query("SELECT e FROM Evaluation e " +
+           "LEFT JOIN FETCH e.cv cv " +
+           "LEFT JOIN FETCH cv.candidate " +
+           "WHERE e.evaluationHistory.id = :historyId ORDER BY e.score DESC")
+    List<Evaluation> findByEvaluationHistoryIdWithCandidatesOrderByScore(@Param("historyId") UUID historyId);
+
     List<Evaluation> findByCvId(UUID cvId);
 
     @Query("SELECT e FROM Evaluation e WHERE e.job.id = :jobId AND e.score >= :minScore ORDER BY e.score DESC")
@@ -44,6 +59,110 @@ public interface EvaluationRepository extends JpaRepository<Evaluation, UUID> {
            "LIMIT :limit")
     List<Evaluation> findTopNByJobId(@Param("jobId") UUID jobId, @Param("limit") int limit);
 
+    // Keyset theo (score DESC, id DESC) trên idx_evaluations_job_score_id; afterId = null là trang đầu
+    default List<Evaluation> findPageByJobId(UUID jobId, BigDecimal minScore,
+                                             BigDecimal afterScore, UUID afterId, int limit) {
+        return afterId == null
+                ? findFirstPageByJobId(jobId, minScore, limit)
+                : findPageByJobIdAfter(jobId, minScore, afterScore, afterId, limit);
+    }
+
+    @Query("SELECT e FROM Evaluation e " +
+           "JOIN FETCH e.cv cv " +
+           "JOIN FETCH cv.candidate " +
+           "WHERE e.job.id = :jobId " +
+           "AND (:minScore IS NULL OR e.score >= :minScore) " +
+           "ORDER BY e.score DESC, e.id DESC " +
+           "LIMIT :limit")
+    List<Evaluation> findFirstPageByJobId(
+        @Param("jobId") UUID jobId,
+        @Param("minScore") BigDecimal minScore,
+        @Param("limit") int limit
+    );
+
+    // So sánh theo row value để Postgres dùng index range scan bắt đầu ngay sau cursor
+    @Query("SELECT e FROM Evaluation e " +
+           "JOIN FETCH e.cv cv " +
+           "JOIN FETCH cv.candidate " +
+           "WHERE e.job.id = :jobId " +
+           "AND (:minScore IS NULL OR e.score >= :minScore) " +
+           "AND (e.score, e.id) < (:afterScore, :afterId) " +
+           "ORDER BY e.score DESC, e.id DESC " +
+           "LIMIT :limit")
+    List<Evaluation> findPageByJobIdAfter(
+        @Param("jobId") UUID jobId,
+        @Param("minScore") BigDecimal minScore,
+        @Param("afterScore") BigDecimal afterScore,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Một trang của bảng xếp hạng theo (score DESC, id DESC). ROW_NUMBER chạy trên index scan của idx_evaluations_job_score_id
+     * và dừng ngay khi đủ limit row, nên top K chỉ đọc K row. rankOffset là rank của item cuối trang trước; afterId = null là trang đầu.
+     * Evaluation FILTERED (không được chấm điểm) không được xếp hạng.
+     */
+    default List<EvaluationRankRow> findRankPageByJobId(UUID jobId, BigDecimal minScore, BigDecimal afterScore,
+                                                        UUID afterId, long rankOffset, int limit) {
+        return afterId == null
+                ? findFirstRankPageByJobId(jobId, minScore, limit)
+                : findRankPageByJobIdAfter(jobId, minScore, afterScore, afterId, rankOffset, limit);
+    }
+
+    @Query(value = "SELECT e.id AS id, ROW_NUMBER() OVER (ORDER BY e.score DESC, e.id DESC) AS rank " +
+                   "FROM evaluations e " +
+                   "WHERE e.job_id = :jobId AND e.model_version IS DISTINCT FROM 'FILTERED' " +
+                   "AND (CAST(:minScore AS numeric) IS NULL OR e.score >= CAST(:minScore AS numeric)) " +
+                   "ORDER BY e.score DESC, e.id DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<EvaluationRankRow> findFirstRankPageByJobId(
+        @Param("jobId") UUID jobId,
+        @Param("minScore") BigDecimal minScore,
+        @Param("limit") int limit
+    );
+
+    // So sánh theo row value để Postgres dùng index range scan bắt đầu ngay sau cursor
+    @Query(value = "SELECT e.id AS id, :rankOffset + ROW_NUMBER() OVER (ORDER BY e.score DESC, e.id DESC) AS rank " +
+                   "FROM evaluations e " +
+                   "WHERE e.job_id = :jobId AND e.model_version IS DISTINCT FROM 'FILTERED' " +
+                   "AND (CAST(:minScore AS numeric) IS NULL OR e.score >= CAST(:minScore AS numeric)) " +
+                   "AND (e.score, e.id) < (CAST(:afterScore AS numeric), CAST(:afterId AS uuid)) " +
+                   "ORDER BY e.score DESC, e.id DESC " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<EvaluationRankRow> findRankPageByJobIdAfter(
+        @Param("jobId") UUID jobId,
+        @Param("minScore") BigDecimal minScore,
+        @Param("afterScore") BigDecimal afterScore,
+        @Param("afterId") UUID afterId,
+        @Param("rankOffset") long rankOffset,
+        @Param("limit") int limit
+    );
+
+    // Số evaluation được xếp hạng của job (không gồm FILTERED), mẫu số của percentile trong bảng xếp hạng
+    @Query("SELECT COUNT(e) FROM Evaluation e " +
+           "WHERE e.job.id = :jobId AND (e.modelVersion IS NULL OR e.modelVersion <> 'FILTERED')")
+    long countRankedByJobId(@Param("jobId") UUID jobId);
+
+    @Query("SELECT e FROM Evaluation e " +
+           "JOIN FETCH e.cv cv " +
+           "JOIN FETCH cv.candidate " +
+           "WHERE e.id IN :ids")
+    List<Evaluation> findWithCandidatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Đọc toàn bộ kết quả của job qua DB cursor (fetch size), dùng cho export; phải gọi trong transaction và đóng stream sau khi dùng
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Evaluation e " +
+           "JOIN FETCH e.cv cv " +
+           "JOIN FETCH cv.candidate " +
+           "WHERE e.job.id = :jobId " +
+           "ORDER BY e.score DESC, e.id DESC")
+    Stream<Evaluation> streamByJobIdWithCandidatesOrderByScore(@Param("jobId") UUID jobId);
+
     boolean existsByJobIdAndCvId(UUID jobId, UUID cvId);
 
     List<Evaluation> findByModelVersion(String modelVersion);
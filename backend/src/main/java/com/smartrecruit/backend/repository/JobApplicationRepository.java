@@ -1,11 +1,17 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.dto.application.JobApplicationRow;
+import com.smartrecruit.backend.dto.evaluation.EvaluationCandidateRow;
 import com.smartrecruit.backend.entity.JobApplication;
+import com.smartrecruit.backend.enums.ApplicationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,13 +29,95 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
            "WHERE ja.job.id = :jobId")
     List<JobApplication> findByJobIdWithDetails(@Param("jobId") UUID jobId);
 
+    // Keyset theo (appliedAt DESC, id DESC) trên idx_job_applications_job_applied_at, kèm điểm evaluation
+    // của từng application trong cùng query; afterId = null là trang đầu
+    default List<JobApplicationRow> findPageByJobId(UUID jobId, ApplicationStatus status,
+                                                    LocalDateTime afterAppliedAt, UUID afterId, int limit) {
+        return afterId == null
+                ? findFirstPageByJobId(jobId, status, limit)
+                : findPageByJobIdAfter(jobId, status, afterAppliedAt, afterId, limit);
+    }
+
+    @Query("SELECT new com.smartrecruit.backend.dto.application.JobApplicationRow(" +
+           "ja.id, ja.job.id, c.id, c.fullName, c.email, cv.id, cv.filePath, ja.status, ja.appliedAt, ja.updatedAt, e.score) " +
+           "FROM JobApplication ja JOIN ja.candidate c JOIN ja.cv cv " +
+           "LEFT JOIN Evaluation e ON e.job = ja.job AND e.cv = cv " +
+           "WHERE ja.job.id = :jobId " +
+           "AND (:status IS NULL OR ja.status = :status) " +
+           "ORDER BY ja.appliedAt DESC, ja.id DESC " +
+           "LIMIT :limit")
+    List<JobApplicationRow> findFirstPageByJobId(
+        @Param("jobId") UUID jobId,
+        @Param("status") ApplicationStatus status,
+        @Param("limit") int limit
+    );
+
+    // So sánh theo row value để Postgres dùng index range scan bắt đầu ngay sau cursor
+    @Query("SELECT new com.smartrecruit.backend.dto.application.JobApplicationRow(" +
+           "ja.id, ja.job.id, c.id, c.fullName, c.email, cv.id, cv.filePath, ja.status, ja.appliedAt, ja.updatedAt, e.score) " +
+           "FROM JobApplication ja JOIN ja.candidate c JOIN ja.cv cv " +
+           "LEFT JOIN Evaluation e ON e.job = ja.job AND e.cv = cv " +
+           "WHERE ja.job.id = :jobId " +
+           "AND (:status IS NULL OR ja.status = :status) " +
+           "AND (ja.appliedAt, ja.id) < (:afterAppliedAt, :afterId) " +
+           "ORDER BY ja.appliedAt DESC, ja.id DESC " +
+           "LIMIT :limit")
+    List<JobApplicationRow> findPageByJobIdAfter(
+        @Param("jobId") UUID jobId,
+        @Param("status") ApplicationStatus status,
+        @Param("afterAppliedAt") LocalDateTime afterAppliedAt,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
+
     @Query("SELECT ja FROM JobApplication ja " +
            "JOIN FETCH ja.job " +
            "JOIN FETCH ja.cv " +
            "WHERE ja.candidate.id = :candidateId")
     List<JobApplication> findByCandidateIdWithDetails(@Param("candidateId") UUID candidateId);
 
+    // Ứng viên cần chấm điểm của một job, theo từng cửa sổ keyset (application id tăng dần), chỉ lấy các cột cần thiết
+    @Query("SELECT new com.smartrecruit.backend.dto.evaluation.EvaluationCandidateRow(" +
+           "ja.id, cv.id, cv.features) " +
+           "FROM JobApplication ja JOIN ja.cv cv " +
+           "WHERE ja.job.id = :jobId AND ja.id > :afterId " +
+           "ORDER BY ja.id " +
+           "LIMIT :limit")
+    List<EvaluationCandidateRow> findEvaluationWindow(
+        @Param("jobId") UUID jobId,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
+
+    @Query("SELECT new com.smartrecruit.backend.dto.evaluation.EvaluationCandidateRow(" +
+           "ja.id, cv.id, cv.features) " +
+           "FROM JobApplication ja JOIN ja.cv cv " +
+           "WHERE ja.job.id = :jobId AND ja.candidate.id IN :candidateIds AND ja.id > :afterId " +
+           "ORDER BY ja.id " +
+           "LIMIT :limit")
+    List<EvaluationCandidateRow> findEvaluationWindowForCandidates(
+        @Param("jobId") UUID jobId,
+        @Param("candidateIds") Collection<UUID> candidateIds,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
+
+    long countByJobId(UUID jobId);
+
+    long countByJobIdAndCandidateIdIn(UUID jobId, Collection<UUID> candidateIds);
+
     Optional<JobApplication> findByJobIdAndCvId(UUID jobId, UUID cvId);
 
     boolean existsByJobIdAndCvId(UUID jobId, UUID cvId);
+
+    // Bulk update không chạy @PreUpdate nên phải tự set updatedAt
+    @Modifying
+    @Query("UPDATE JobApplication ja SET ja.status = :status, ja.updatedAt = :updatedAt " +
+           "WHERE ja.job.id = :jobId AND ja.cv.id IN :cvIds")
+    int updateStatusByJobIdAndCvIdIn(
+        @Param("jobId") UUID jobId,
+        @Param("cvIds") Collection<UUID> cvIds,
+        @Param("status") ApplicationStatus status,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
 }
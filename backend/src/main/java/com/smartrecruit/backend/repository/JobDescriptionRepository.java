@@ -1,5 +1,6 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.dto.admin.ActivityRow;
 import com.smartrecruit.backend.entity.JobDescription;
 import com.smartrecruit.backend.entity.User;
 import com.smartrecruit.backend.enums.JobStatus;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,6 +32,13 @@ public interface JobDescriptionRepository extends JpaRepository<JobDescription,
            "FROM JobDescription j WHERE j.id = :jobId AND j.recruiter.id = :recruiterId")
     boolean existsByIdAndRecruiterId(@Param("jobId") UUID jobId, @Param("recruiterId") UUID recruiterId);
 
+    @Query("SELECT j.recruiter.id FROM JobDescription j WHERE j.id = :jobId")
+    Optional<UUID> findRecruiterIdById(@Param("jobId") UUID jobId);
+
+    // Trong các job ids, những job hiện có status thuộc statuses (kiểm tra lại kết quả từ index trong bộ nhớ)
+    @Query("SELECT j.id FROM JobDescription j WHERE j.id IN :ids AND j.status IN :statuses")
+    List<UUID> findIdsByIdInAndStatusIn(@Param("ids") Collection<UUID> ids, @Param("statuses") Collection<JobStatus> statuses);
+
     @Query("SELECT j FROM JobDescription j LEFT JOIN FETCH j.recruiter WHERE j.id = :jobId")
     Optional<JobDescription> findByIdWithRecruiter(@Param("jobId") UUID jobId);
 
@@ -43,4 +53,49 @@ public interface JobDescriptionRepository extends JpaRepository<JobDescription,
     long countByRecruiterId(UUID recruiterId);
 
     long countByStatus(JobStatus status);
+
+    // Keyset theo (createdAt DESC, id DESC) trên idx_job_descriptions_created_at_id;
+    // recruiterId = null khi admin xem tất cả job, afterId = null là trang đầu
+    default List<JobDescription> findPage(UUID recruiterId, JobStatus status, String pattern,
+                                          LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        return afterId == null
+                ? findFirstPage(recruiterId, status, pattern, limit)
+                : findPageAfter(recruiterId, status, pattern, afterCreatedAt, afterId, limit);
+    }
+
+    @Query("SELECT j FROM JobDescription j JOIN FETCH j.recruiter r " +
+           "WHERE (:recruiterId IS NULL OR r.id = :recruiterId) " +
+           "AND (:status IS NULL OR j.status = :status) " +
+           "AND (:pattern IS NULL OR LOWER(j.title) LIKE :pattern) " +
+           "ORDER BY j.createdAt DESC, j.id DESC " +
+           "LIMIT :limit")
+    List<JobDescription> findFirstPage(
+        @Param("recruiterId") UUID recruiterId,
+        @Param("status") JobStatus status,
+        @Param("pattern") String pattern,
+        @Param("limit") int limit
+    );
+
+    // So sánh theo row value để Postgres dùng index range scan bắt đầu ngay sau cursor
+    @Query("SELECT j FROM JobDescription j JOIN FETCH j.recruiter r " +
+           "WHERE (:recruiterId IS NULL OR r.id = :recruiterId) " +
+           "AND (:status IS NULL OR j.status = :status) " +
+           "AND (:pattern IS NULL OR LOWER(j.title) LIKE :pattern) " +
+           "AND (j.createdAt, j.id) < (:afterCreatedAt, :afterId) " +
+           "ORDER BY j.createdAt DESC, j.id DESC " +
+           "LIMIT :limit")
+    List<JobDescription> findPageAfter(
+        @Param("recruiterId") UUID recruiterId,
+        @Param("status") JobStatus status,
+        @Param("pattern") String pattern,
+        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+        @Param("afterId") UUID afterId,
+        @Param("limit") int limit
+    );
+
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.ActivityRow(j.createdAt, r.fullName, j.title) " +
+           "FROM JobDescription j JOIN j.recruiter r " +
+           "ORDER BY j.createdAt DESC " +
+           "LIMIT :limit")
+    List<ActivityRow> findRecentCreatedActivity(@Param("limit") int limit);
 }
@@ -0,0 +1,57 @@
+package com.smartrecruit.backend.repository;
+
+import com.smartrecruit.backend.dto.admin.RecruiterStatsRow;
+import com.smartrecruit.backend.entity.RecruiterActivityRollup;
+import com.smartrecruit.backend.enums.RoleType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecruiterActivityRollupRepository extends JpaRepository<RecruiterActivityRollup, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO recruiter_activity_rollups " +
+                   "(recruiter_id, jobs_created, evaluations_run, score_sum, score_count) " +
+                   "VALUES (:recruiterId, :jobs, :evaluationsRun, :scoreSum, :scoreCount) " +
+                   "ON CONFLICT (recruiter_id) DO UPDATE SET " +
+                   "jobs_created = recruiter_activity_rollups.jobs_created + EXCLUDED.jobs_created, " +
+                   "evaluations_run = recruiter_activity_rollups.evaluations_run + EXCLUDED.evaluations_run, " +
+                   "score_sum = recruiter_activity_rollups.score_sum + EXCLUDED.score_sum, " +
+                   "score_count = recruiter_activity_rollups.score_count + EXCLUDED.score_count",
+           nativeQuery = true)
+    void addActivity(
+        @Param("recruiterId") UUID recruiterId,
+        @Param("jobs") long jobs,
+        @Param("evaluationsRun") long evaluationsRun,
+        @Param("scoreSum") BigDecimal scoreSum,
+        @Param("scoreCount") long scoreCount
+    );
+
+    // Recruiter chưa có job nào thì không có row rollup, các cột tương ứng trả về null
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.RecruiterStatsRow(u.fullName, r.jobsCreated, r.scoreCount, r.scoreSum) " +
+           "FROM User u LEFT JOIN RecruiterActivityRollup r ON r.recruiterId = u.id " +
+           "WHERE u.role = :role " +
+           "ORDER BY COALESCE(r.jobsCreated, 0) DESC, COALESCE(r.scoreCount, 0) DESC " +
+           "LIMIT :limit")
+    List<RecruiterStatsRow> findTopRecruiterStats(@Param("role") RoleType role, @Param("limit") int limit);
+
+    // Dựng lại rollup theo recruiter từ dữ liệu hiện có, chỉ chạy trên bảng rollup trống; bỏ qua evaluation FILTERED
+    @Modifying
+    @Query(value = "INSERT INTO recruiter_activity_rollups " +
+                   "(recruiter_id, jobs_created, evaluations_run, score_sum, score_count) " +
+                   "SELECT j.recruiter_id, COUNT(DISTINCT j.id), " +
+                   "  (SELECT COUNT(*) FROM evaluation_history h JOIN job_descriptions hj ON hj.id = h.job_id WHERE hj.recruiter_id = j.recruiter_id), " +
+                   "  COALESCE(SUM(e.score), 0), COUNT(e.id) " +
+                   "FROM job_descriptions j " +
+                   "LEFT JOIN evaluations e ON e.job_id = j.id AND e.model_version IS DISTINCT FROM 'FILTERED' " +
+                   "GROUP BY j.recruiter_id",
+           nativeQuery = true)
+    int backfill();
+}
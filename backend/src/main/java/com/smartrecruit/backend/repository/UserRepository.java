@@ -1,8 +1,11 @@
 package com.smartrecruit.backend.repository;
 
+import com.smartrecruit.backend.dto.admin.ActivityRow;
 import com.smartrecruit.backend.entity.User;
 import com.smartrecruit.backend.enums.RoleType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +24,10 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     long countByRole(RoleType role);
 
     long countByRoleAndActiveTrue(RoleType role);
+
+    @Query("SELECT new com.smartrecruit.backend.dto.admin.ActivityRow(u.createdAt, u.fullName, u.fullName) " +
+           "FROM User u " +
+           "ORDER BY u.createdAt DESC " +
+           "LIMIT :limit")
+    List<ActivityRow> findRecentRegisteredActivity(@Param("limit") int limit);
 }
@@ -1,6 +1,9 @@
 package com.smartrecruit.backend.security;
 
+import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.service.JwtClaimsCache;
 import com.smartrecruit.backend.service.JwtService;
+import com.smartrecruit.backend.service.UserPrincipalCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +12,6 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +23,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
@@ -39,7 +41,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Bỏ qua xử lý JWT cho các endpoint công khai
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -55,16 +56,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         
-        userEmail = jwtService.extractUsername(jwt);
+        // Token đã verify trước đó (chưa hết hạn) thì dùng lại claims, không parse và kiểm tra chữ ký lại
+        JwtClaimsCache.VerifiedToken verified = jwtClaimsCache.get(jwt);
+        if (verified == null) {
+            verified = jwtService.verify(jwt);
+            jwtClaimsCache.put(jwt, verified);
+        }
+        final String userEmail = verified.subject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            // User được resolve một lần ở đây và giữ trong SecurityContext làm principal cho cả request
+            User user = userPrincipalCache.get(userEmail);
 
-            if (jwtService.isTokenValid(jwt, (com.smartrecruit.backend.entity.User) userDetails)) {
+            if (user.isEnabled() && jwtService.isTokenValid(verified, user)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        user,
                         null,
-                        userDetails.getAuthorities()
+                        user.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
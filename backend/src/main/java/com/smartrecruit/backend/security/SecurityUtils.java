@@ -1,6 +1,7 @@
 package com.smartrecruit.backend.security;
 
 import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.enums.RoleType;
 import com.smartrecruit.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -26,6 +27,11 @@ public class SecurityUtils {
 
       
         Object principal = authentication.getPrincipal();
+
+        // JwtAuthenticationFilter đã đặt User làm principal, không cần query lại
+        if (principal instanceof User user) {
+            return user;
+        }
         
         if (principal instanceof UserDetails) {
             String email = ((UserDetails) principal).getUsername();
@@ -47,7 +53,7 @@ public class SecurityUtils {
 
     public boolean isCurrentUserAdmin() {
         User currentUser = getCurrentUser();
-        return currentUser != null && "ADMIN".equals(currentUser.getRole());
+        return currentUser != null && currentUser.getRole() == RoleType.ADMIN;
     }
 
     // Kiểm tra nếu người dùng hiện tại là chủ sở hữu của một "tài nguyên" nào đó (ví dụ: JobDescription, EvaluationHistory, v.v.)
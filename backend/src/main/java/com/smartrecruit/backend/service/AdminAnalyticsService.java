@@ -1,16 +1,14 @@
 package com.smartrecruit.backend.service;
 
+import com.smartrecruit.backend.dto.admin.ActivityRow;
 import com.smartrecruit.backend.dto.admin.AdminAnalyticsResponse;
-import com.smartrecruit.backend.entity.Candidate;
-import com.smartrecruit.backend.entity.Evaluation;
-import com.smartrecruit.backend.entity.EvaluationHistory;
-import com.smartrecruit.backend.entity.JobDescription;
-import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.dto.admin.MonthlyActivityRow;
+import com.smartrecruit.backend.dto.admin.SystemTotalsRow;
 import com.smartrecruit.backend.enums.RoleType;
-import com.smartrecruit.backend.repository.CandidateRepository;
+import com.smartrecruit.backend.repository.DailyActivityRollupRepository;
 import com.smartrecruit.backend.repository.EvaluationHistoryRepository;
-import com.smartrecruit.backend.repository.EvaluationRepository;
 import com.smartrecruit.backend.repository.JobDescriptionRepository;
+import com.smartrecruit.backend.repository.RecruiterActivityRollupRepository;
 import com.smartrecruit.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -35,183 +33,97 @@ public class AdminAnalyticsService {
 
     private final UserRepository userRepository;
     private final JobDescriptionRepository jobDescriptionRepository;
-    private final CandidateRepository candidateRepository;
-    private final EvaluationRepository evaluationRepository;
     private final EvaluationHistoryRepository evaluationHistoryRepository;
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
+    private final RecruiterActivityRollupRepository recruiterActivityRollupRepository;
 
+    private static final int MONTHS = 6;
+    private static final int TOP_RECRUITERS = 5;
+    private static final int RECENT_ACTIVITIES = 8;
+
+    // Thống kê, hoạt động theo tháng và top recruiter đọc từ các bảng rollup; Recent Activity chỉ lấy vài bản ghi mới nhất
     @Transactional(readOnly = true)
     public AdminAnalyticsResponse getAnalytics() {
-        List<JobDescription> allJobs = jobDescriptionRepository.findAllWithRecruiter();
-        List<Candidate> allCandidates = candidateRepository.findAll();
-        List<Evaluation> allEvaluations = evaluationRepository.findAll();
-        List<EvaluationHistory> allEvaluationHistories = evaluationHistoryRepository.findAll();
-
-        AdminAnalyticsResponse.SystemStats systemStats = buildSystemStats(allJobs, allCandidates, allEvaluations);
-        List<AdminAnalyticsResponse.MonthlyActivity> monthlyActivity = buildMonthlyActivity(allJobs, allCandidates, allEvaluationHistories);
-        List<AdminAnalyticsResponse.TopRecruiter> topRecruiters = buildTopRecruiters();
-        List<AdminAnalyticsResponse.RecentActivity> recentActivity = buildRecentActivity(allJobs, allEvaluationHistories, userRepository.findAll());
-
         return AdminAnalyticsResponse.builder()
-                .systemStats(systemStats)
-                .monthlyActivity(monthlyActivity)
-                .topRecruiters(topRecruiters)
-                .recentActivity(recentActivity)
+                .systemStats(buildSystemStats())
+                .monthlyActivity(buildMonthlyActivity())
+                .topRecruiters(buildTopRecruiters())
+                .recentActivity(buildRecentActivity())
                 .build();
     }
 
-    private AdminAnalyticsResponse.SystemStats buildSystemStats(
-            List<JobDescription> jobs,
-            List<Candidate> candidates,
-            List<Evaluation> evaluations
-    ) {
-        double avgMatchScore = evaluations.isEmpty()
-                ? 0
-                : evaluations.stream()
-                .map(Evaluation::getScore)
-                .filter(score -> score != null)
-                .mapToDouble(BigDecimal::doubleValue)
-                .average()
-                .orElse(0);
+    private AdminAnalyticsResponse.SystemStats buildSystemStats() {
+        SystemTotalsRow totals = dailyActivityRollupRepository.sumTotals();
+        long totalEvaluations = valueOf(totals.evaluations());
 
         return AdminAnalyticsResponse.SystemStats.builder()
-                .totalJobs(jobs.size())
-                .totalCandidates(candidates.size())
-                .totalEvaluations(evaluations.size())
-                .avgMatchScore(roundToOneDecimal(avgMatchScore))
+                .totalJobs(valueOf(totals.jobs()))
+                .totalCandidates(valueOf(totals.candidates()))
+                .totalEvaluations(totalEvaluations)
+                .avgMatchScore(roundToOneDecimal(average(totals.scoreSum(), totalEvaluations)))
                 .build();
     }
 
-    private List<AdminAnalyticsResponse.MonthlyActivity> buildMonthlyActivity(
-            List<JobDescription> jobs,
-            List<Candidate> candidates,
-            List<EvaluationHistory> evaluationHistories
-    ) {
+    private List<AdminAnalyticsResponse.MonthlyActivity> buildMonthlyActivity() {
         LocalDate now = LocalDate.now();
         List<YearMonth> months = new ArrayList<>();
 
         // Lấy ra 6 tháng gần nhất (bao gồm tháng hiện tại)
-        for (int index = 5; index >= 0; index--) {
+        for (int index = MONTHS - 1; index >= 0; index--) {
             months.add(YearMonth.from(now.minusMonths(index)));
         }
 
-        // Tạo Map để đếm số lượng jobs, candidates, evaluations theo từng tháng bằng cách sử dụng YearMonth làm key và đếm số lượng tương ứng
-        Map<YearMonth, Long> jobsByMonth = new HashMap<>();
-        for (JobDescription job : jobs) {
-            if (job.getCreatedAt() == null) {
-                continue;
-            }
-            YearMonth key = YearMonth.from(job.getCreatedAt());
-            jobsByMonth.put(key, jobsByMonth.getOrDefault(key, 0L) + 1);
-        }
-
-        Map<YearMonth, Long> candidatesByMonth = new HashMap<>();
-        for (Candidate candidate : candidates) {
-            if (candidate.getCreatedAt() == null) {
-                continue;
-            }
-            YearMonth key = YearMonth.from(candidate.getCreatedAt());
-            candidatesByMonth.put(key, candidatesByMonth.getOrDefault(key, 0L) + 1);
-        }
-
-        Map<YearMonth, Long> evaluationsByMonth = new HashMap<>();
-        for (EvaluationHistory history : evaluationHistories) {
-            if (history.getEvaluationTime() == null) {
-                continue;
-            }
-            YearMonth key = YearMonth.from(history.getEvaluationTime());
-            evaluationsByMonth.put(key, evaluationsByMonth.getOrDefault(key, 0L) + 1);
+        // Số lượng jobs, candidates, evaluations theo từng tháng cộng từ rollup theo ngày (tối đa ~180 row), YearMonth làm key
+        Map<YearMonth, MonthlyActivityRow> byMonth = new HashMap<>();
+        for (MonthlyActivityRow row : dailyActivityRollupRepository.sumByMonthSince(months.get(0).atDay(1))) {
+            byMonth.put(YearMonth.of(row.year(), row.month()), row);
         }
 
         List<AdminAnalyticsResponse.MonthlyActivity> result = new ArrayList<>();
         for (YearMonth yearMonth : months) {
+            MonthlyActivityRow row = byMonth.get(yearMonth);
             result.add(AdminAnalyticsResponse.MonthlyActivity.builder()
                     .month(yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
                     .year(yearMonth.getYear())
-                    .jobs(jobsByMonth.getOrDefault(yearMonth, 0L))
-                    .candidates(candidatesByMonth.getOrDefault(yearMonth, 0L))
-                    .evaluations(evaluationsByMonth.getOrDefault(yearMonth, 0L))
+                    .jobs(row != null ? valueOf(row.jobs()) : 0)
+                    .candidates(row != null ? valueOf(row.candidates()) : 0)
+                    .evaluations(row != null ? valueOf(row.evaluations()) : 0)
                     .build());
         }
         return result;
     }
 
     private List<AdminAnalyticsResponse.TopRecruiter> buildTopRecruiters() {
-        List<User> recruiters = userRepository.findByRole(RoleType.RECRUITER);
-
-        return recruiters.stream()
-                .map(recruiter -> {
-                    long jobs = jobDescriptionRepository.countByRecruiterId(recruiter.getId());
-                    List<Evaluation> recruiterEvaluations = evaluationRepository.findByRecruiterId(recruiter.getId());
-                    long evaluations = recruiterEvaluations.size();
-                    double avgScore = recruiterEvaluations.isEmpty()
-                            ? 0
-                            : recruiterEvaluations.stream()
-                            .map(Evaluation::getScore)
-                            .filter(score -> score != null)
-                            .mapToDouble(BigDecimal::doubleValue)
-                            .average()
-                            .orElse(0);
-
-                    return AdminAnalyticsResponse.TopRecruiter.builder()
-                            .name(recruiter.getFullName())
-                            .jobs(jobs)
-                            .evaluations(evaluations)
-                            .avgScore(roundToOneDecimal(avgScore))
-                            .build();
-                })
-                .sorted(Comparator.comparingLong(AdminAnalyticsResponse.TopRecruiter::getJobs)
-                        .thenComparingLong(AdminAnalyticsResponse.TopRecruiter::getEvaluations)
-                        .reversed())
-                .limit(5)
+        // Đọc một row rollup cho mỗi recruiter, sắp xếp và giới hạn ngay trên DB
+        return recruiterActivityRollupRepository.findTopRecruiterStats(RoleType.RECRUITER, TOP_RECRUITERS).stream()
+                .map(row -> AdminAnalyticsResponse.TopRecruiter.builder()
+                        .name(row.fullName())
+                        .jobs(valueOf(row.jobs()))
+                        .evaluations(valueOf(row.evaluations()))
+                        .avgScore(roundToOneDecimal(average(row.scoreSum(), valueOf(row.evaluations()))))
+                        .build())
                 .toList();
     }
 
-    private List<AdminAnalyticsResponse.RecentActivity> buildRecentActivity(
-            List<JobDescription> jobs,
-            List<EvaluationHistory> evaluationHistories,
-            List<User> users
-    ) {
+    private List<AdminAnalyticsResponse.RecentActivity> buildRecentActivity() {
+        // Mỗi loại sự kiện chỉ cần lấy RECENT_ACTIVITIES bản ghi mới nhất, sau đó gộp lại và lấy tiếp RECENT_ACTIVITIES mới nhất
         List<ActivityEvent> events = new ArrayList<>();
 
-        for (JobDescription job : jobs) {
-            if (job.getCreatedAt() == null || job.getRecruiter() == null) {
-                continue;
-            }
-            events.add(new ActivityEvent(
-                    job.getCreatedAt(),
-                    job.getRecruiter().getFullName(),
-                    "Created job",
-                    job.getTitle()
-            ));
+        for (ActivityRow row : jobDescriptionRepository.findRecentCreatedActivity(RECENT_ACTIVITIES)) {
+            events.add(new ActivityEvent(row.time(), row.userName(), "Created job", row.target()));
         }
 
-        for (EvaluationHistory history : evaluationHistories) {
-            if (history.getEvaluationTime() == null || history.getEvaluatedBy() == null || history.getJobDescription() == null) {
-                continue;
-            }
-            events.add(new ActivityEvent(
-                    history.getEvaluationTime(),
-                    history.getEvaluatedBy().getFullName(),
-                    "Ran evaluation",
-                    history.getJobDescription().getTitle()
-            ));
+        for (ActivityRow row : evaluationHistoryRepository.findRecentActivity(RECENT_ACTIVITIES)) {
+            events.add(new ActivityEvent(row.time(), row.userName(), "Ran evaluation", row.target()));
         }
 
-        for (User user : users) {
-            if (user.getCreatedAt() == null) {
-                continue;
-            }
-            events.add(new ActivityEvent(
-                    user.getCreatedAt(),
-                    "System",
-                    "Registered user",
-                    user.getFullName()
-            ));
+        for (ActivityRow row : userRepository.findRecentRegisteredActivity(RECENT_ACTIVITIES)) {
+            events.add(new ActivityEvent(row.time(), "System", "Registered user", row.target()));
         }
 
         return events.stream()
                 .sorted(Comparator.comparing(ActivityEvent::time).reversed())
-                .limit(8)
+                .limit(RECENT_ACTIVITIES)
                 .map(event -> AdminAnalyticsResponse.RecentActivity.builder()
                         .user(event.user())
                         .action(event.action())
@@ -221,6 +133,14 @@ public class AdminAnalyticsService {
                 .toList();
     }
 
+    private long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private double average(BigDecimal sum, long count) {
+        return sum == null || count == 0 ? 0 : sum.doubleValue() / count;
+    }
+
     private double roundToOneDecimal(double value) {
         return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP).doubleValue();
     }
@@ -0,0 +1,163 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.dto.admin.AdminAnalyticsCacheStats;
+import com.smartrecruit.backend.dto.admin.AdminAnalyticsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Snapshot AdminAnalyticsResponse dùng chung cho mọi admin (stale-while-revalidate).
+ * Snapshot còn hạn (TTL) thì trả ngay; hết hạn thì vẫn trả bản cũ và tính lại trong nền.
+ * Mỗi lúc chỉ có một lần tính lại, các request đồng thời dùng chung kết quả của lần đó.
+ */
+@Component
+@Slf4j
+public class AdminAnalyticsSnapshotCache {
+
+    public enum CacheStatus {
+        HIT, STALE, MISS
+    }
+
+    public record CachedAnalytics(AdminAnalyticsResponse response, CacheStatus status, long ageSeconds) {
+    }
+
+    private record Snapshot(AdminAnalyticsResponse response, Instant computedAt) {
+    }
+
+    private final AdminAnalyticsService adminAnalyticsService;
+    private final TaskExecutor refreshExecutor;
+    private final Duration ttl;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Lần tính lại đang chạy (nếu có)
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private volatile long lastRefreshDurationMs;
+
+    public AdminAnalyticsSnapshotCache(
+            AdminAnalyticsService adminAnalyticsService,
+            @Qualifier("analyticsRefreshExecutor") TaskExecutor refreshExecutor,
+            @Value("${app.admin.analytics.cache-ttl:60s}") Duration ttl
+    ) {
+        this.adminAnalyticsService = adminAnalyticsService;
+        this.refreshExecutor = refreshExecutor;
+        this.ttl = ttl;
+    }
+
+    public CachedAnalytics get() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            // Chưa có snapshot: tính ngay trên request thread, các request đến cùng lúc chờ chung kết quả
+            misses.increment();
+            return toCached(awaitRefresh(), CacheStatus.MISS);
+        }
+
+        if (ageOf(current).compareTo(ttl) < 0) {
+            hits.increment();
+            return toCached(current, CacheStatus.HIT);
+        }
+
+        staleHits.increment();
+        refresh(true);
+        return toCached(current, CacheStatus.STALE);
+    }
+
+    public AdminAnalyticsCacheStats getStats() {
+        long hitCount = hits.sum();
+        long staleCount = staleHits.sum();
+        long total = hitCount + staleCount + misses.sum();
+        Snapshot current = snapshot.get();
+
+        return AdminAnalyticsCacheStats.builder()
+                .hits(hitCount)
+                .staleHits(staleCount)
+                .misses(misses.sum())
+                .hitRate(total == 0 ? 0 : (double) (hitCount + staleCount) / total)
+                .ttlSeconds(ttl.toSeconds())
+                .snapshotAgeSeconds(current != null ? ageOf(current).toSeconds() : null)
+                .refreshing(inFlight.get() != null)
+                .refreshCount(refreshCount.sum())
+                .refreshFailures(refreshFailures.sum())
+                .lastRefreshDurationMs(lastRefreshDurationMs)
+                .build();
+    }
+
+    private Snapshot awaitRefresh() {
+        try {
+            return refresh(false).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Bắt đầu tính lại snapshot nếu chưa có lần nào đang chạy, ngược lại trả về lần đang chạy.
+     *
+     * @param background true: chạy trên analyticsRefreshExecutor, false: chạy ngay trên thread hiện tại
+     */
+    private CompletableFuture<Snapshot> refresh(boolean background) {
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, created);
+        if (running != null) {
+            return running;
+        }
+
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            try {
+                Snapshot computed = new Snapshot(adminAnalyticsService.getAnalytics(), Instant.now());
+                snapshot.set(computed);
+                refreshCount.increment();
+                created.complete(computed);
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.error("Failed to refresh admin analytics snapshot", e);
+                created.completeExceptionally(e);
+            } finally {
+                lastRefreshDurationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                inFlight.set(null);
+            }
+        };
+
+        if (!background) {
+            task.run();
+            return created;
+        }
+        try {
+            refreshExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            // Không refresh được lần này thì vẫn phục vụ snapshot cũ, request sau sẽ thử lại
+            log.warn("Admin analytics refresh rejected: {}", e.getMessage());
+            inFlight.set(null);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private CachedAnalytics toCached(Snapshot current, CacheStatus status) {
+        return new CachedAnalytics(current.response(), status, ageOf(current).toSeconds());
+    }
+
+    private Duration ageOf(Snapshot current) {
+        return Duration.between(current.computedAt(), Instant.now());
+    }
+}
@@ -20,6 +20,7 @@ public class AdminUserService {
 
     private final UserRepository userRepository;
     private final JobDescriptionRepository jobDescriptionRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Transactional(readOnly = true)
     public List<AdminUserResponse> getAllUsers() {
@@ -53,6 +54,7 @@ public class AdminUserService {
 
         targetUser.setActive(active);
         User savedUser = userRepository.save(targetUser);
+        userPrincipalCache.evict(savedUser.getEmail());
         return toResponse(savedUser);
     }
 
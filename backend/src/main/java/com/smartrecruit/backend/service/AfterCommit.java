@@ -0,0 +1,28 @@
+package com.smartrecruit.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cập nhật các cache/index trong bộ nhớ theo thay đổi trên DB: trong transaction thì chỉ chạy sau khi commit,
+ * để cache không chứa thay đổi bị rollback và request khác không nạp lại bản cũ trước khi thay đổi được ghi xuống DB.
+ * Ngoài transaction thì chạy ngay.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.entity.Candidate;
+import com.smartrecruit.backend.entity.Evaluation;
+import com.smartrecruit.backend.entity.EvaluationHistory;
+import com.smartrecruit.backend.entity.JobDescription;
+import com.smartrecruit.backend.repository.DailyActivityRollupRepository;
+import com.smartrecruit.backend.repository.RecruiterActivityRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Cập nhật các bảng rollup của dashboard admin (theo ngày và theo recruiter).
+ * Luôn chạy trong transaction của thao tác ghi tương ứng để rollup không bị lệch khi thao tác đó rollback.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class AnalyticsRollupService {
+
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
+    private final RecruiterActivityRollupRepository recruiterActivityRollupRepository;
+
+    public void recordJobCreated(JobDescription job) {
+        addJobs(job, 1);
+    }
+
+    public void recordJobDeleted(JobDescription job) {
+        addJobs(job, -1);
+    }
+
+    public void recordCandidateAdded(Candidate candidate) {
+        dailyActivityRollupRepository.addActivity(candidate.getCreatedAt().toLocalDate(), 0, 1, 0, BigDecimal.ZERO, 0);
+    }
+
+    public void recordCandidateDeleted(Candidate candidate) {
+        dailyActivityRollupRepository.addActivity(candidate.getCreatedAt().toLocalDate(), 0, -1, 0, BigDecimal.ZERO, 0);
+    }
+
+    public void recordEvaluationRun(EvaluationHistory history) {
+        dailyActivityRollupRepository.addActivity(history.getEvaluationTime().toLocalDate(), 0, 0, 1, BigDecimal.ZERO, 0);
+        recruiterActivityRollupRepository.addActivity(
+                history.getJobDescription().getRecruiter().getId(), 0, 1, BigDecimal.ZERO, 0);
+    }
+
+    /**
+     * Ghi kết quả của một chunk evaluation vào ngày evaluatedAt của từng evaluation, giống backfill (CAST(evaluated_at AS date)).
+     * Evaluation FILTERED (bị pre-filter loại, không chấm điểm) không được tính vào điểm.
+     *
+     * @param written  evaluation vừa được insert hoặc ghi đè (không gồm kết quả cũ được dùng lại)
+     * @param replaced điểm và ngày chấm cũ của các evaluation bị ghi đè khi đánh giá lại, trừ các evaluation cũ là FILTERED
+     */
+    public void recordEvaluationResults(UUID recruiterId, List<Evaluation> written, List<ReplacedScore> replaced) {
+        if (written.isEmpty()) {
+            return;
+        }
+        // TreeMap: upsert các ngày theo thứ tự cố định để hai transaction không khoá row theo thứ tự ngược nhau
+        Map<LocalDate, ScoreDelta> byDate = new TreeMap<>();
+        ScoreDelta total = new ScoreDelta();
+        for (Evaluation evaluation : written) {
+            if ("FILTERED".equalsIgnoreCase(evaluation.getModelVersion())) {
+                continue;
+            }
+            byDate.computeIfAbsent(evaluation.getEvaluatedAt().toLocalDate(), date -> new ScoreDelta())
+                    .add(evaluation.getScore(), 1);
+            total.add(evaluation.getScore(), 1);
+        }
+        for (ReplacedScore old : replaced) {
+            byDate.computeIfAbsent(old.evaluatedOn(), date -> new ScoreDelta()).add(old.score().negate(), -1);
+            total.add(old.score().negate(), -1);
+        }
+
+        byDate.forEach((date, delta) -> {
+            if (!delta.isZero()) {
+                dailyActivityRollupRepository.addActivity(date, 0, 0, 0, delta.sum, delta.count);
+            }
+        });
+        if (!total.isZero()) {
+            recruiterActivityRollupRepository.addActivity(recruiterId, 0, 0, total.sum, total.count);
+        }
+    }
+
+    private void addJobs(JobDescription job, long delta) {
+        dailyActivityRollupRepository.addActivity(job.getCreatedAt().toLocalDate(), delta, 0, 0, BigDecimal.ZERO, 0);
+        recruiterActivityRollupRepository.addActivity(job.getRecruiter().getId(), delta, 0, BigDecimal.ZERO, 0);
+    }
+
+    // Điểm của một evaluation trước khi bị ghi đè, cùng ngày chấm (evaluatedAt) cũ mà điểm đó đã được cộng vào
+    public record ReplacedScore(LocalDate evaluatedOn, BigDecimal score) {
+    }
+
+    private static final class ScoreDelta {
+        private BigDecimal sum = BigDecimal.ZERO;
+        private long count;
+
+        void add(BigDecimal score, long delta) {
+            sum = sum.add(score);
+            count += delta;
+        }
+
+        boolean isZero() {
+            return count == 0 && sum.signum() == 0;
+        }
+    }
+}
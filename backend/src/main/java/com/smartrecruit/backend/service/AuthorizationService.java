@@ -2,7 +2,6 @@ package com.smartrecruit.backend.service;
 
 import com.smartrecruit.backend.entity.User;
 import com.smartrecruit.backend.enums.RoleType;
-import com.smartrecruit.backend.repository.JobDescriptionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -13,7 +12,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthorizationService {
 
-    private final JobDescriptionRepository jobDescriptionRepository;
+    private final JobOwnershipCache jobOwnershipCache;
 
     /*
     * NOTE: 2 hàm ensureCanAccesJob và canAccessJob đề dùng để kiểm tra quyền của người dùng, tuy nhiên
@@ -27,7 +26,7 @@ public class AuthorizationService {
             return;
         }
         if (user.getRole() == RoleType.RECRUITER) {
-            if (!jobDescriptionRepository.existsByIdAndRecruiterId(jobId, user.getId())) {
+            if (!isOwner(jobId, user)) {
                 throw new AccessDeniedException("You do not have access to this job");
             }
             return;
@@ -41,11 +40,18 @@ public class AuthorizationService {
             return true;
         }
         if (user.getRole() == RoleType.RECRUITER) {
-            return jobDescriptionRepository.existsByIdAndRecruiterId(jobId, user.getId());
+            return isOwner(jobId, user);
         }
         return false;
     }
 
+    // Chủ sở hữu job lấy từ JobOwnershipCache, chỉ query DB ở lần đầu
+    private boolean isOwner(UUID jobId, User user) {
+        return jobOwnershipCache.findOwner(jobId)
+                .map(ownerId -> ownerId.equals(user.getId()))
+                .orElse(false);
+    }
+
     // Check if user can access a resource owned by recruiterId (Admin can access all, Recruiter can access their own)
     public void ensureCanAccess(UUID recruiterId, User user) {
         if (user.getRole() == RoleType.ADMIN) {
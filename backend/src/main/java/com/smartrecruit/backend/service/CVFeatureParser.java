@@ -96,6 +96,21 @@ public class CVFeatureParser {
             IndustryType.HEALTHCARE, List.of(HEALTHCARE_SKILLS)
     );
 
+    private static final List<Set<String>> ALL_DOMAIN_SKILL_POOLS = List.of(
+            PROGRAMMING_LANGUAGES, FRAMEWORKS, DATABASES, MARKETING_SKILLS, SALES_SKILLS,
+            ACCOUNTING_SKILLS, HEALTHCARE_SKILLS
+    );
+
+    // Dựng một lần từ mọi skill pool, quét CV một lần để lấy tất cả skill
+    private static final KeywordScanner SKILL_SCANNER = KeywordScanner.of(skillKeywords());
+
+    // Toàn bộ skill keyword mà parser có thể trả về (domain + soft skills), dùng để dựng SkillVocabulary
+    public static Set<String> skillKeywords() {
+        Set<String> keywords = new HashSet<>(SOFT_SKILLS);
+        ALL_DOMAIN_SKILL_POOLS.forEach(keywords::addAll);
+        return keywords;
+    }
+
     public CVFeatures parse(String rawText) {
         return parse(rawText, null);
     }
@@ -192,23 +207,16 @@ public class CVFeatureParser {
     }
 
     private CVFeatures.SkillsInfo parseSkills(String lower, IndustryType targetIndustry) {
-        List<String> domainSkills = new ArrayList<>();
-        List<String> soft = findKeywords(lower, SOFT_SKILLS);
+        Set<String> found = SKILL_SCANNER.findAll(lower);
+        List<String> soft = findKeywords(found, List.of(SOFT_SKILLS));
 
+        List<String> domainSkills;
         if (targetIndustry != null && INDUSTRY_SKILL_POOLS.containsKey(targetIndustry)) {
-            // Focused parsing: only search relevant skills for the target industry
-            for (Set<String> skillPool : INDUSTRY_SKILL_POOLS.get(targetIndustry)) {
-                domainSkills.addAll(findKeywords(lower, skillPool));
-            }
+            // Focused parsing: only keep relevant skills for the target industry
+            domainSkills = findKeywords(found, INDUSTRY_SKILL_POOLS.get(targetIndustry));
         } else {
-            // Generic parsing: search all skill pools across all industries
-            domainSkills.addAll(findKeywords(lower, PROGRAMMING_LANGUAGES));
-            domainSkills.addAll(findKeywords(lower, FRAMEWORKS));
-            domainSkills.addAll(findKeywords(lower, DATABASES));
-            domainSkills.addAll(findKeywords(lower, MARKETING_SKILLS));
-            domainSkills.addAll(findKeywords(lower, SALES_SKILLS));
-            domainSkills.addAll(findKeywords(lower, ACCOUNTING_SKILLS));
-            domainSkills.addAll(findKeywords(lower, HEALTHCARE_SKILLS));
+            // Generic parsing: keep skills from all skill pools across all industries
+            domainSkills = findKeywords(found, ALL_DOMAIN_SKILL_POOLS);
         }
 
         return CVFeatures.SkillsInfo.builder()
@@ -217,12 +225,18 @@ public class CVFeatureParser {
                 .build();
     }
 
-    private List<String> findKeywords(String lower, Set<String> keywords) {
-        Set<String> found = new LinkedHashSet<>();
-        for (String kw : keywords) {
-            if (lower.contains(kw)) found.add(kw);
+    // Lọc các keyword đã tìm thấy theo skill pool, giữ thứ tự xuất hiện trong CV
+    private List<String> findKeywords(Set<String> found, List<Set<String>> pools) {
+        List<String> result = new ArrayList<>();
+        for (String kw : found) {
+            for (Set<String> pool : pools) {
+                if (pool.contains(kw)) {
+                    result.add(kw);
+                    break;
+                }
+            }
         }
-        return new ArrayList<>(found);
+        return result;
     }
 
     private String firstMatch(Pattern pattern, String text) {
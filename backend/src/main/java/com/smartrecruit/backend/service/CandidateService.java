@@ -1,18 +1,22 @@
 package com.smartrecruit.backend.service;
 
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.candidate.CandidateRequest;
 import com.smartrecruit.backend.dto.candidate.CandidateResponse;
+import com.smartrecruit.backend.dto.candidate.CandidateSearchResponse;
 import com.smartrecruit.backend.dto.candidate.CVSummaryResponse;
 import com.smartrecruit.backend.entity.Candidate;
 import com.smartrecruit.backend.entity.CV;
 import com.smartrecruit.backend.entity.User;
 import com.smartrecruit.backend.enums.RoleType;
+import com.smartrecruit.backend.repository.CVRepository;
 import com.smartrecruit.backend.repository.CandidateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,6 +25,8 @@ import java.util.stream.Collectors;
 public class CandidateService {
 
     private final CandidateRepository candidateRepository;
+    private final CVRepository cvRepository;
+    private final AnalyticsRollupService analyticsRollupService;
 
     public List<CandidateResponse> findAll(User currentUser) {
         ensureRecruiterOrAdmin(currentUser);
@@ -29,6 +35,53 @@ public class CandidateService {
                 .collect(Collectors.toList());
     }
 
+    // Phân trang keyset theo thời điểm tạo (mới nhất trước), lọc theo tên/email
+    public CursorPage<CandidateResponse> findPage(String query, String cursor, Integer size, User currentUser) {
+        ensureRecruiterOrAdmin(currentUser);
+        int pageSize = PageCursor.sizeOf(size);
+        PageCursor.TimeKey after = PageCursor.decodeTimeKey(cursor);
+
+        List<Candidate> rows = candidateRepository.findPage(
+                PageCursor.containsPattern(query),
+                after != null ? after.time() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        return CursorPage.of(rows.stream().map(this::toResponseWithoutCvs).toList(), pageSize,
+                last -> PageCursor.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Full-text search trên text và feature đã parse của CV, xếp theo độ liên quan.
+     * Phải có ít nhất từ khoá hoặc một bộ lọc (skill, degree, minYears).
+     */
+    @Transactional(readOnly = true)
+    public List<CandidateSearchResponse> search(String query, String skill, String degree, Integer minYears,
+                                                Integer limit, User currentUser) {
+        ensureRecruiterOrAdmin(currentUser);
+        String q = normalize(query);
+        String skillFilter = normalize(skill).toLowerCase(Locale.ROOT);
+        String degreeFilter = normalize(degree).toLowerCase(Locale.ROOT);
+        if (minYears != null && minYears < 0) {
+            throw new IllegalArgumentException("minYears must not be negative");
+        }
+        if (q.isEmpty() && skillFilter.isEmpty() && degreeFilter.isEmpty() && minYears == null) {
+            throw new IllegalArgumentException("Search query or at least one filter is required");
+        }
+
+        return cvRepository.search(q, skillFilter, degreeFilter, minYears, PageCursor.sizeOf(limit)).stream()
+                .map(row -> CandidateSearchResponse.builder()
+                        .candidateId(row.getCandidateId())
+                        .candidateName(row.getCandidateName())
+                        .candidateEmail(row.getCandidateEmail())
+                        .cvId(row.getCvId())
+                        .uploadedAt(row.getUploadedAt())
+                        .highestDegree(row.getHighestDegree())
+                        .totalYears(row.getTotalYears())
+                        .relevance(row.getRelevance())
+                        .build())
+                .toList();
+    }
+
     public CandidateResponse getById(UUID candidateId, User currentUser) {
         ensureRecruiterOrAdmin(currentUser);
         Candidate candidate = candidateRepository.findByIdWithCvs(candidateId)
@@ -45,6 +98,7 @@ public class CandidateService {
                 .phone(request.getPhone())
                 .build();
         candidate = candidateRepository.save(candidate);
+        analyticsRollupService.recordCandidateAdded(candidate);
         return toResponseWithoutCvs(candidate);
     }
 
@@ -63,10 +117,14 @@ public class CandidateService {
     @Transactional
     public void delete(UUID candidateId, User currentUser) {
         ensureRecruiterOrAdmin(currentUser);
-        if (!candidateRepository.existsById(candidateId)) {
-            throw new IllegalArgumentException("Candidate not found: " + candidateId);
-        }
-        candidateRepository.deleteById(candidateId);
+        Candidate candidate = candidateRepository.findById(candidateId)
+                .orElseThrow(() -> new IllegalArgumentException("Candidate not found: " + candidateId));
+        analyticsRollupService.recordCandidateDeleted(candidate);
+        candidateRepository.delete(candidate);
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim() : "";
     }
 
     private void ensureRecruiterOrAdmin(User user) {
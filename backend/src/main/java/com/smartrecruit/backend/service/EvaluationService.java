@@ -1,26 +1,46 @@
 package com.smartrecruit.backend.service;
 
+import com.smartrecruit.backend.domain.cv.CVFeatures;
+import com.smartrecruit.backend.domain.cv.CVSkillSet;
+import com.smartrecruit.backend.domain.job.HardConstraints;
+import com.smartrecruit.backend.domain.job.JobProfile;
+import com.smartrecruit.backend.domain.ml.FeatureMatrix;
+import com.smartrecruit.backend.dto.CursorPage;
+import com.smartrecruit.backend.dto.evaluation.CandidateExplainabilityDTO;
 import com.smartrecruit.backend.dto.evaluation.CandidateScoreDTO;
+import com.smartrecruit.backend.dto.evaluation.EvaluationCandidateRow;
+import com.smartrecruit.backend.dto.evaluation.EvaluationJobStatusResponse;
+import com.smartrecruit.backend.dto.evaluation.EvaluationPreFilter;
+import com.smartrecruit.backend.dto.evaluation.EvaluationRankRow;
+import com.smartrecruit.backend.dto.evaluation.EvaluationRankingResponse;
 import com.smartrecruit.backend.dto.evaluation.EvaluationRequest;
 import com.smartrecruit.backend.dto.evaluation.EvaluationResponse;
 import com.smartrecruit.backend.dto.ml.FeatureVector;
-import com.smartrecruit.backend.dto.ml.PredictionRequest;
 import com.smartrecruit.backend.dto.ml.PredictionResponse;
 import com.smartrecruit.backend.dto.ml.PredictionResult;
 import com.smartrecruit.backend.entity.*;
 import com.smartrecruit.backend.enums.ApplicationStatus;
+import com.smartrecruit.backend.enums.EvaluationStatus;
 import com.smartrecruit.backend.exception.MLServiceException;
 import com.smartrecruit.backend.repository.*;
 import com.smartrecruit.backend.security.SecurityUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,8 +55,23 @@ public class EvaluationService {
     private final JobApplicationRepository jobApplicationRepository;
     private final FeatureEngineeringService featureEngineeringService;
     private final ExplainabilityService explainabilityService;
-    private final MLServiceClient mlServiceClient;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final Predictor predictor;
     private final SecurityUtils securityUtils;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor evaluationExecutor;
+    private final EntityManager entityManager;
+    private final JobOwnershipCache jobOwnershipCache;
+
+    // Application id nhỏ nhất (uuid so sánh theo byte trong Postgres), dùng làm điểm bắt đầu khi đọc ứng viên theo keyset
+    private static final UUID FIRST_APPLICATION_KEY = new UUID(0L, 0L);
+
+    // Khi export, clear persistence context sau mỗi chừng này row (bằng fetch size của query stream)
+    private static final int EXPORT_CLEAR_EVERY = 500;
+
+    // Số lượng CV gửi sang ML Service trong mỗi request /predict
+    @Value("${ml.service.batch-size:256}")
+    private int mlBatchSize;
 
     @Transactional
     public EvaluationResponse evaluateCandidatesForJob(UUID jobId, EvaluationRequest request) {
@@ -54,79 +89,106 @@ public class EvaluationService {
             throw new RuntimeException("Access denied: You can only evaluate your own jobs");
         }
         
-        //Lấy danh sách CV cần đánh giá
-        List<CV> cvsToEvaluate = getCVsForEvaluation(jobId, request);
+        //Đếm số CV cần đánh giá; CV được đọc theo từng cửa sổ khi chấm điểm
+        List<UUID> candidateIds = request.getCandidateIds();
+        long totalCandidates = countCandidatesForEvaluation(jobId, candidateIds);
         
-        if (cvsToEvaluate.isEmpty()) {
+        if (totalCandidates == 0) {
             log.warn("No CVs found to evaluate for job: {}", jobId);
             return buildEmptyResponse(job, currentUser);
         }
 
-        log.info("Found {} CVs to evaluate", cvsToEvaluate.size());
+        log.info("Found {} CVs to evaluate", totalCandidates);
 
-        // Tạo và persist EvaluationHistory TRƯỚC KHI evaluate để tránh Hibernate cascade error
-        EvaluationHistory evaluationHistory = EvaluationHistory.builder()
-                .jobDescription(job)
-                .evaluatedBy(currentUser)
-                .evaluationTime(LocalDateTime.now())
-                .modelVersion("v1.0")
-                .totalCandidates(cvsToEvaluate.size())
-                .successCount(0)
-                .failureCount(0)
-            .build();
-        
-        // Persist ngay để có ID và tránh TransientPropertyValueException
-        evaluationHistory = evaluationHistoryRepository.save(evaluationHistory);
-        log.debug("Created EvaluationHistory with ID: {}", evaluationHistory.getId());
+        EvaluationHistory evaluationHistory = createEvaluationHistory(job, currentUser, (int) totalCandidates, EvaluationStatus.RUNNING);
 
-        // Đánh giá từng CV
-        List<Evaluation> evaluations = new ArrayList<>();
-        int successCount = 0;
-        int failureCount = 0;
-        for (CV cv : cvsToEvaluate) {
-            try {
-                Evaluation evaluation = evaluateCV(job, cv, currentUser, evaluationHistory, request.getForceReEvaluation());
-                evaluations.add(evaluation);
-                successCount++;
-                log.debug("Successfully evaluated CV: {} with score: {}", cv.getId(), evaluation.getScore());
-                
-                // Cập nhật status của JobApplication thành EVALUATED
-                updateJobApplicationStatus(jobId, cv.getId(), ApplicationStatus.EVALUATED);
-            } catch (MLServiceException e) {
-                // ML Service errors are critical - fail the entire evaluation
-                log.error("ML Service error during evaluation: {}", e.getMessage());
-                log.error("Aborting evaluation for job: {}. Please ensure ML Service is running and try again.", jobId);
-                throw e; // Propagate to controller to show user-friendly error
-            } catch (Exception e) {
-                // Business/parsing errors - log and create failed evaluation
-                log.error("Failed to evaluate CV: {} - {}", cv.getId(), e.getMessage(), e);
-                Evaluation failedEvaluation = createFailedEvaluation(job, cv, currentUser, evaluationHistory, e.getMessage());
-                evaluations.add(failedEvaluation);
-                failureCount++;
-            }
-        }
+        // Chấm điểm theo từng chunk; các chunk tham gia vào transaction hiện tại
+        EvaluationProgress progress = processCandidates(
+                job, candidateIds, currentUser, evaluationHistory,
+                Boolean.TRUE.equals(request.getForceReEvaluation()), request.getPreFilter(), p -> { });
 
         // Rank theo điểm số từ cao xuống thấp
-        evaluations.sort(Comparator.comparing(Evaluation::getScore).reversed());
+        List<Evaluation> evaluations = evaluationRepository
+                .findByEvaluationHistoryIdWithCandidatesOrderByScore(evaluationHistory.getId());
+
+        // Persistence context đã được clear sau mỗi chunk nên phải đọc lại EvaluationHistory; merge bản detached
+        // (collection evaluations rỗng) sẽ làm orphan removal xoá hết Evaluation vừa ghi
+        UUID historyId = evaluationHistory.getId();
+        evaluationHistory = evaluationHistoryRepository.findById(historyId)
+                .orElseThrow(() -> new RuntimeException("Evaluation not found: " + historyId));
 
         // Cập nhật lại EvaluationHistory với kết quả (chỉ update counters, KHÔNG set lại collection để tránh orphan removal issue)
-        evaluationHistory.setSuccessCount(successCount);
-        evaluationHistory.setFailureCount(failureCount);
+        evaluationHistory.setProcessedCount(progress.processed());
+        evaluationHistory.setSuccessCount(progress.success());
+        evaluationHistory.setFailureCount(progress.failure());
+        evaluationHistory.setFilteredCount(progress.filtered());
+        evaluationHistory.setStatus(EvaluationStatus.COMPLETED);
         evaluationHistory = evaluationHistoryRepository.save(evaluationHistory);
 
         return buildEvaluationResponse(evaluationHistory, evaluations);
     }
 
-    // Lấy lịch sử đánh giá của một job
+    // Nhận yêu cầu đánh giá và trả về ngay EvaluationHistory ID, việc chấm điểm được chạy nền trên evaluationExecutor
+    public EvaluationJobStatusResponse submitEvaluation(UUID jobId, EvaluationRequest request) {
+        log.info("Submitting background evaluation for job: {}", jobId);
+
+        User currentUser = securityUtils.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("User not authenticated");
+        }
+
+        SubmittedEvaluation submitted = transactionTemplate.execute(status -> {
+            JobDescription job = jobDescriptionRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+
+            if (!securityUtils.canCurrentUserAccess(job.getRecruiter().getId())) {
+                throw new RuntimeException("Access denied: You can only evaluate your own jobs");
+            }
+
+            List<UUID> candidateIds = request.getCandidateIds();
+            int total = (int) countCandidatesForEvaluation(jobId, candidateIds);
+            EvaluationStatus initialStatus = total == 0 ? EvaluationStatus.COMPLETED : EvaluationStatus.QUEUED;
+            return new SubmittedEvaluation(job, candidateIds, total, createEvaluationHistory(job, currentUser, total, initialStatus));
+        });
+
+        EvaluationHistory history = submitted.history();
+        if (submitted.totalCandidates() == 0) {
+            log.warn("No CVs found to evaluate for job: {}", jobId);
+            return toStatusResponse(history);
+        }
+
+        boolean forceReEvaluation = Boolean.TRUE.equals(request.getForceReEvaluation());
+        try {
+            evaluationExecutor.execute(() ->
+                    runEvaluationInBackground(submitted, currentUser, forceReEvaluation, request.getPreFilter()));
+        } catch (TaskRejectedException e) {
+            log.warn("Evaluation queue is full, rejecting evaluation {} for job {}", history.getId(), jobId);
+            markEvaluationStatus(history.getId(), EvaluationStatus.FAILED, "Evaluation queue is full");
+            throw new RuntimeException("Too many evaluations are running. Please try again later.");
+        }
+
+        log.info("Queued evaluation {} for job {} with {} CVs", history.getId(), jobId, submitted.totalCandidates());
+        return toStatusResponse(history);
+    }
+
+    // Trạng thái và tiến độ của một evaluation (dùng để poll khi chạy nền)
     @Transactional(readOnly = true)
-    public List<EvaluationResponse> getEvaluationHistory(UUID jobId) {
-        JobDescription job = jobDescriptionRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+    public EvaluationJobStatusResponse getEvaluationStatus(UUID evaluationId) {
+        EvaluationHistory history = evaluationHistoryRepository.findById(evaluationId)
+                .orElseThrow(() -> new RuntimeException("Evaluation not found: " + evaluationId));
 
-        if (!securityUtils.canCurrentUserAccess(job.getRecruiter().getId())) {
+        if (!securityUtils.canCurrentUserAccess(history.getJobDescription().getRecruiter().getId())) {
             throw new RuntimeException("Access denied");
         }
 
+        return toStatusResponse(history);
+    }
+
+    // Lấy lịch sử đánh giá của một job
+    @Transactional(readOnly = true)
+    public List<EvaluationResponse> getEvaluationHistory(UUID jobId) {
+        ensureCanAccessJob(jobId);
+
         List<EvaluationHistory> histories = evaluationHistoryRepository
                 .findByJobDescriptionIdOrderByEvaluationTimeDesc(jobId);
 
@@ -138,18 +200,15 @@ public class EvaluationService {
     // Lấy kết quả đánh giá mới nhất của một job
     @Transactional(readOnly = true)
     public EvaluationResponse getLatestEvaluation(UUID jobId) {
-        JobDescription job = jobDescriptionRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
-
         // Authorization check
-        if (!securityUtils.canCurrentUserAccess(job.getRecruiter().getId())) {
-            throw new RuntimeException("Access denied");
-        }
+        ensureCanAccessJob(jobId);
 
         Optional<EvaluationHistory> latestHistory = evaluationHistoryRepository
                 .findFirstByJobDescriptionIdOrderByEvaluationTimeDesc(jobId);
 
         if (latestHistory.isEmpty()) {
+            JobDescription job = jobDescriptionRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
             return buildEmptyResponse(job, securityUtils.getCurrentUser());
         }
 
@@ -172,99 +231,570 @@ public class EvaluationService {
             throw new RuntimeException("Access denied");
         }
 
-        // Lấy tất cả evaluations thuộc history này, sorted by score
-        List<Evaluation> evaluations = history.getEvaluations().stream()
-                .sorted(Comparator.comparing(Evaluation::getScore).reversed())
-                .collect(Collectors.toList());
+        // Lấy tất cả evaluations thuộc history này (kèm CV và candidate), database sắp xếp theo score
+        List<Evaluation> evaluations = evaluationRepository
+                .findByEvaluationHistoryIdWithCandidatesOrderByScore(evaluationId);
 
         return buildEvaluationResponse(history, evaluations);
     }
 
-    private List<CV> getCVsForEvaluation(UUID jobId, EvaluationRequest request) {
-        // Nếu request có candidateIds cụ thể, chỉ lấy CV của những candidate đó
-        if (request.getCandidateIds() != null && !request.getCandidateIds().isEmpty()) {
-            // Lấy JobApplications cho những candidates này với job này
-            List<JobApplication> applications = jobApplicationRepository.findByJobId(jobId);
-            return applications.stream()
-                    .filter(app -> request.getCandidateIds().contains(app.getCandidate().getId()))
-                    .map(JobApplication::getCv)
-                    .collect(Collectors.toList());
-        } else {
-            // Nếu không có candidateIds, lấy tất cả CV của những candidate đã apply vào job này thông qua JobApplications
-            List<JobApplication> applications = jobApplicationRepository.findByJobIdWithDetails(jobId);
-            if (applications.isEmpty()) {
-                log.warn("No job applications found for job: {}", jobId);
-                return Collections.emptyList();
+    // Kết quả evaluation của job theo từng trang, sắp xếp theo điểm (cao nhất trước); rank được tiếp nối qua cursor.
+    // Evaluation FILTERED vẫn được liệt kê nhưng không có rank, giống getRanking
+    @Transactional(readOnly = true)
+    public CursorPage<CandidateScoreDTO> getResultPage(UUID jobId, BigDecimal minScore, String cursor, Integer size) {
+        ensureCanAccessJob(jobId);
+
+        int pageSize = PageCursor.sizeOf(size);
+        PageCursor.ScoreKey after = PageCursor.decodeScoreKey(cursor);
+        List<Evaluation> rows = evaluationRepository.findPageByJobId(
+                jobId, minScore,
+                after != null ? after.score() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        int rank = after != null ? after.rank() : 0;
+        // Rank đã cấp tới từng item (kể cả khi item là FILTERED) để cursor tiếp nối đúng rank ở trang sau
+        Map<CandidateScoreDTO, PageCursor.ScoreKey> keys = new IdentityHashMap<>();
+        List<CandidateScoreDTO> scores = new ArrayList<>(rows.size());
+        for (Evaluation eval : rows) {
+            CandidateScoreDTO dto = toCandidateScore(eval, isFiltered(eval) ? null : ++rank);
+            keys.put(dto, new PageCursor.ScoreKey(eval.getScore(), eval.getId(), rank));
+            scores.add(dto);
+        }
+        return CursorPage.of(scores, pageSize, last -> {
+            PageCursor.ScoreKey key = keys.get(last);
+            return PageCursor.encode(key.score(), key.id(), key.rank());
+        });
+    }
+
+    /**
+     * Bảng xếp hạng của job: rank tính trong database và chỉ load các evaluation của trang. Tổng số ứng viên (mẫu số
+     * của percentile) chỉ được đếm ở trang đầu rồi mang theo trong cursor, nên các trang sau chỉ đọc đúng số row của trang.
+     * topK giới hạn tổng số ứng viên trả về qua tất cả các trang; minScore cắt bớt phần đuôi nên không làm thay đổi rank.
+     */
+    @Transactional(readOnly = true)
+    public EvaluationRankingResponse getRanking(
+            UUID jobId, Integer topK, BigDecimal minScore, String cursor, Integer size) {
+        JobDescription job = jobDescriptionRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+
+        if (!securityUtils.canCurrentUserAccess(job.getRecruiter().getId())) {
+            throw new RuntimeException("Access denied");
+        }
+        if (topK != null && topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+
+        PageCursor.RankKey after = PageCursor.decodeRankKey(cursor);
+        int rankOffset = after != null ? after.rank() : 0;
+        // Chỉ đếm ở trang đầu, các trang sau dùng lại total trong cursor
+        long total = after != null ? after.total() : evaluationRepository.countRankedByJobId(jobId);
+        int limit = PageCursor.sizeOf(size);
+        if (topK != null) {
+            limit = Math.min(limit, topK - rankOffset);
+        }
+
+        List<EvaluationRankRow> ranks = limit > 0
+                ? evaluationRepository.findRankPageByJobId(
+                        jobId, minScore,
+                        after != null ? after.score() : null,
+                        after != null ? after.id() : null,
+                        rankOffset, limit + 1)
+                : List.of();
+        boolean hasMore = ranks.size() > limit;
+        if (hasMore) {
+            ranks = ranks.subList(0, limit);
+        }
+
+        Map<UUID, Evaluation> evaluations = new HashMap<>();
+        if (!ranks.isEmpty()) {
+            evaluationRepository.findWithCandidatesByIdIn(ranks.stream().map(EvaluationRankRow::getId).toList())
+                    .forEach(eval -> evaluations.put(eval.getId(), eval));
+        }
+
+        List<CandidateScoreDTO> candidates = new ArrayList<>(ranks.size());
+        for (EvaluationRankRow row : ranks) {
+            CandidateScoreDTO dto = toCandidateScore(evaluations.get(row.getId()), row.getRank().intValue());
+            dto.setPercentile(percentileOf(row.getRank(), total));
+            candidates.add(dto);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            EvaluationRankRow last = ranks.get(ranks.size() - 1);
+            nextCursor = PageCursor.encode(
+                    evaluations.get(last.getId()).getScore(), last.getId(), last.getRank().intValue(), total);
+        }
+
+        return EvaluationRankingResponse.builder()
+                .jobId(job.getId())
+                .jobTitle(job.getTitle())
+                .totalEvaluated(total)
+                .candidates(candidates)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Phần trăm ứng viên xếp sau vị trí rank: 100 * (total - rank) / (total - 1), làm tròn 2 chữ số.
+     * Tính theo vị trí trong bảng xếp hạng (ROW_NUMBER) nên các ứng viên cùng điểm có percentile khác nhau,
+     * khác với PERCENT_RANK(). Giới hạn trong [0, 100] vì total được đếm ở trang đầu, có thể đã cũ.
+     */
+    private static double percentileOf(long rank, long total) {
+        if (total <= 1) {
+            return 100.0;
+        }
+        double percentile = BigDecimal.valueOf(100.0 * (total - rank) / (total - 1))
+                .setScale(2, RoundingMode.HALF_UP).doubleValue();
+        return Math.max(0.0, Math.min(100.0, percentile));
+    }
+
+    // Kiểm tra quyền xem kết quả của job trước khi bắt đầu stream, để lỗi vẫn trả về đúng HTTP status
+    public void ensureCanReadResults(UUID jobId) {
+        ensureCanAccessJob(jobId);
+    }
+
+    /**
+     * Đẩy toàn bộ bảng xếp hạng của job (điểm cao nhất trước) cho consumer theo từng row đọc từ DB cursor.
+     * Evaluation FILTERED vẫn được xuất nhưng không có rank và không làm tăng rank, nên rank khớp với getRanking.
+     * Persistence context được clear định kỳ nên bộ nhớ không tăng theo số ứng viên. Không kiểm tra quyền,
+     * caller phải gọi ensureCanReadResults trước.
+     *
+     * @return số row đã xuất (gồm cả FILTERED)
+     */
+    @Transactional(readOnly = true)
+    public long streamRanking(UUID jobId, Consumer<CandidateScoreDTO> consumer) {
+        int rank = 0;
+        long rows = 0;
+        try (Stream<Evaluation> evaluations = evaluationRepository.streamByJobIdWithCandidatesOrderByScore(jobId)) {
+            Iterator<Evaluation> iterator = evaluations.iterator();
+            while (iterator.hasNext()) {
+                Evaluation eval = iterator.next();
+                consumer.accept(toCandidateScore(eval, isFiltered(eval) ? null : ++rank));
+                if (++rows % EXPORT_CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Kiểm tra quyền trên job qua JobOwnershipCache, không cần load JobDescription
+    private void ensureCanAccessJob(UUID jobId) {
+        UUID ownerId = jobOwnershipCache.findOwner(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+
+        if (!securityUtils.canCurrentUserAccess(ownerId)) {
+            throw new RuntimeException("Access denied");
+        }
+    }
+
+    private long countCandidatesForEvaluation(UUID jobId, List<UUID> candidateIds) {
+        // Nếu request có candidateIds cụ thể, chỉ đếm CV của những candidate đó
+        if (candidateIds != null && !candidateIds.isEmpty()) {
+            return jobApplicationRepository.countByJobIdAndCandidateIdIn(jobId, candidateIds);
+        }
+        return jobApplicationRepository.countByJobId(jobId);
+    }
+
+    /**
+     * Đọc một cửa sổ ứng viên (tối đa limit) có application id lớn hơn afterApplicationId, chỉ gồm các cột cần cho việc chấm điểm.
+     * Đọc theo keyset thay vì giữ một cursor mở suốt lần evaluate, vì mỗi chunk chạy và commit trong transaction riêng.
+     */
+    private List<EvaluationCandidateRow> fetchCandidateWindow(UUID jobId, List<UUID> candidateIds, UUID afterApplicationId, int limit) {
+        if (candidateIds != null && !candidateIds.isEmpty()) {
+            return jobApplicationRepository.findEvaluationWindowForCandidates(jobId, candidateIds, afterApplicationId, limit);
+        }
+        return jobApplicationRepository.findEvaluationWindow(jobId, afterApplicationId, limit);
+    }
+
+    private EvaluationHistory createEvaluationHistory(JobDescription job, User evaluatedBy, int totalCandidates, EvaluationStatus status) {
+        // Tạo và persist EvaluationHistory TRƯỚC KHI evaluate để tránh Hibernate cascade error
+        EvaluationHistory evaluationHistory = EvaluationHistory.builder()
+                .jobDescription(job)
+                .evaluatedBy(evaluatedBy)
+                .evaluationTime(LocalDateTime.now())
+                .modelVersion("v1.0")
+                .totalCandidates(totalCandidates)
+                .processedCount(0)
+                .successCount(0)
+                .failureCount(0)
+                .filteredCount(0)
+                .status(status)
+                .build();
+
+        // Persist ngay để có ID và tránh TransientPropertyValueException
+        evaluationHistory = evaluationHistoryRepository.save(evaluationHistory);
+        analyticsRollupService.recordEvaluationRun(evaluationHistory);
+        log.debug("Created EvaluationHistory with ID: {}", evaluationHistory.getId());
+        return evaluationHistory;
+    }
+
+    private void runEvaluationInBackground(SubmittedEvaluation submitted, User evaluatedBy, boolean forceReEvaluation,
+                                           EvaluationPreFilter preFilter) {
+        UUID historyId = submitted.history().getId();
+        UUID jobId = submitted.job().getId();
+        log.info("Starting background evaluation {} for job: {}", historyId, jobId);
+
+        try {
+            markEvaluationStatus(historyId, EvaluationStatus.RUNNING, null);
+
+            // Mỗi chunk commit riêng nên connection chỉ bị giữ trong thời gian xử lý một chunk
+            EvaluationProgress progress = processCandidates(
+                    submitted.job(), submitted.candidateIds(), evaluatedBy, submitted.history(), forceReEvaluation, preFilter,
+                    p -> transactionTemplate.executeWithoutResult(status -> evaluationHistoryRepository.updateProgress(
+                            historyId, p.processed(), p.success(), p.failure(), p.filtered())));
+
+            markEvaluationStatus(historyId, EvaluationStatus.COMPLETED, null);
+            log.info("Background evaluation {} completed for job: {}. Success: {}, Failed: {}, Filtered: {}",
+                    historyId, jobId, progress.success(), progress.failure(), progress.filtered());
+        } catch (Exception e) {
+            log.error("Background evaluation {} failed for job: {} - {}", historyId, jobId, e.getMessage(), e);
+            markEvaluationStatus(historyId, EvaluationStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void markEvaluationStatus(UUID historyId, EvaluationStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx ->
+                evaluationHistoryRepository.updateStatus(historyId, status, errorMessage));
+    }
+
+    private EvaluationProgress processCandidates(
+            JobDescription job,
+            List<UUID> candidateIds,
+            User evaluatedBy,
+            EvaluationHistory evaluationHistory,
+            boolean forceReEvaluation,
+            EvaluationPreFilter preFilter,
+            Consumer<EvaluationProgress> onProgress
+    ) {
+        EvaluationProgress progress = new EvaluationProgress(0, 0, 0, 0);
+        int batchSize = Math.max(1, mlBatchSize);
+        JobProfile jobProfile = featureEngineeringService.getJobProfile(job);
+        HardConstraints constraints = featureEngineeringService.toHardConstraints(jobProfile, preFilter);
+        UUID afterApplicationId = FIRST_APPLICATION_KEY;
+
+        while (true) {
+            UUID windowStart = afterApplicationId;
+            // ML Service errors are critical khi chưa chấm được CV nào (service có thể đang down) - fail the entire evaluation
+            boolean abortOnMlError = progress.success() == 0;
+
+            // Mỗi chunk đọc cửa sổ ứng viên tiếp theo và chấm điểm trong cùng một transaction,
+            // nên chỉ một cửa sổ ứng viên nằm trong bộ nhớ tại một thời điểm
+            ChunkResult chunk = transactionTemplate.execute(status -> {
+                List<EvaluationCandidateRow> window = fetchCandidateWindow(job.getId(), candidateIds, windowStart, batchSize);
+                if (window.isEmpty()) {
+                    return null;
+                }
+                List<Evaluation> chunkEvaluations = processChunk(
+                        job, jobProfile, constraints, window, evaluatedBy, evaluationHistory, forceReEvaluation, abortOnMlError);
+
+                int chunkSuccess = 0;
+                int chunkFiltered = 0;
+                for (Evaluation evaluation : chunkEvaluations) {
+                    if (isFiltered(evaluation)) {
+                        chunkFiltered++;
+                    } else if (!"FAILED".equalsIgnoreCase(evaluation.getModelVersion())) {
+                        chunkSuccess++;
+                    }
+                }
+                return new ChunkResult(window.size(), chunkSuccess, chunkFiltered, window.get(window.size() - 1).applicationId());
+            });
+
+            if (chunk == null) {
+                break;
+            }
+            progress = new EvaluationProgress(
+                    progress.processed() + chunk.size(),
+                    progress.success() + chunk.success(),
+                    progress.failure() + chunk.size() - chunk.success() - chunk.filtered(),
+                    progress.filtered() + chunk.filtered());
+
+            onProgress.accept(progress);
+            log.debug("Evaluation {} progress: {}/{}", evaluationHistory.getId(), progress.processed(), evaluationHistory.getTotalCandidates());
+
+            if (chunk.size() < batchSize) {
+                break;
             }
-            return applications.stream()
-                    .map(JobApplication::getCv)
-                    .collect(Collectors.toList());
+            afterApplicationId = chunk.lastApplicationId();
         }
+        return progress;
     }
 
-    private Evaluation evaluateCV(
-            JobDescription job, 
-            CV cv, 
+    private List<Evaluation> processChunk(
+            JobDescription job,
+            JobProfile jobProfile,
+            HardConstraints constraints,
+            List<EvaluationCandidateRow> chunk,
             User evaluatedBy,
             EvaluationHistory evaluationHistory,
-            Boolean forceReEvaluation
+            boolean forceReEvaluation,
+            boolean abortOnMlError
     ) {
-        // Kiểm tra nếu đã từng đánh giá CV này cho job này trước đó và forceReEvaluation = false thì có thể tái sử dụng kết quả cũ (cache)
-        if (!forceReEvaluation) {
-            Optional<Evaluation> existingEvaluation = evaluationRepository.findByJobIdAndCvId(job.getId(), cv.getId());
-            if (existingEvaluation.isPresent()) {
-                log.debug("Using cached evaluation for CV: {}", cv.getId());
-                Evaluation cached = existingEvaluation.get();
+        UUID jobId = job.getId();
+        List<Evaluation> evaluations = new ArrayList<>();
+        List<PendingPrediction> pending = new ArrayList<>();
+        // Feature của cả chunk được ghi thẳng vào một ma trận primitive, row i tương ứng pending.get(i)
+        FeatureMatrix features = new FeatureMatrix(chunk.size());
+
+        // Kết quả đã có của cả chunk lấy bằng một query IN thay vì findByJobIdAndCvId cho từng CV
+        List<UUID> cvIds = chunk.stream().map(EvaluationCandidateRow::cvId).toList();
+        Map<UUID, Evaluation> existingEvaluations = new HashMap<>();
+        for (Evaluation existing : evaluationRepository.findByJobIdAndCvIdIn(jobId, cvIds)) {
+            existingEvaluations.put(existing.getCv().getId(), existing);
+        }
+        // CV được chấm thành công (hoặc dùng lại kết quả cũ) trong chunk, cập nhật status JobApplication một lần ở cuối chunk
+        List<UUID> evaluatedCvIds = new ArrayList<>();
+
+        // Số kết quả cũ được dùng lại nằm ở đầu danh sách evaluations
+        int cachedCount = 0;
+        List<EvaluationCandidateRow> toExtract = new ArrayList<>();
+        for (EvaluationCandidateRow candidate : chunk) {
+            // Kiểm tra nếu đã từng đánh giá CV này cho job này trước đó và forceReEvaluation = false thì có thể tái sử dụng kết quả cũ (cache).
+            // Kết quả FILTERED phụ thuộc vào pre-filter của lần evaluate trước nên không dùng lại
+            Evaluation cached = existingEvaluations.get(candidate.cvId());
+            if (cached != null && !forceReEvaluation && !isFiltered(cached)) {
+                log.debug("Using cached evaluation for CV: {}", candidate.cvId());
                 cached.setEvaluationHistory(evaluationHistory);
-                return cached;
+                evaluations.add(cached);
+                evaluatedCvIds.add(candidate.cvId());
+                cachedCount++;
+                continue;
             }
+            toExtract.add(candidate);
         }
 
-        // Extract features
-        FeatureVector features = featureEngineeringService.extractFeatures(job, cv);
+        // Điểm và ngày chấm cũ của các evaluation sẽ bị ghi đè (forceReEvaluation), để rollup trừ khỏi đúng ngày đã cộng trước đó.
+        // Evaluation cũ là FILTERED chưa từng được tính vào rollup nên không cần trừ
+        List<AnalyticsRollupService.ReplacedScore> replacedScores = new ArrayList<>();
+        for (EvaluationCandidateRow candidate : toExtract) {
+            Evaluation existing = existingEvaluations.get(candidate.cvId());
+            if (existing != null && !isFiltered(existing)) {
+                replacedScores.add(new AnalyticsRollupService.ReplacedScore(existing.getEvaluatedAt().toLocalDate(), existing.getScore()));
+            }
+        }
 
-        // Gọi ML service (Gộp vào batch sau này nếu cần)
-        PredictionRequest predictionRequest = new PredictionRequest(features); // Constructor này sẽ tự động gói features vào một list
-        PredictionResponse prediction = mlServiceClient.predict(predictionRequest);
+        // Pre-filter: CV không đạt điều kiện bắt buộc được ghi nhận là FILTERED, không trích xuất feature và không gọi model.
+        // Skill đã chuẩn hoá của các CV đạt được dùng lại khi trích xuất feature
+        List<CVSkillSet> passedSkills = null;
+        if (constraints != null && !toExtract.isEmpty()) {
+            List<CVFeatures> cvFeatures = toExtract.stream().map(EvaluationCandidateRow::features).toList();
+            List<CVSkillSet> cvSkills = new ArrayList<>(cvFeatures.size());
+            for (CVFeatures cvFeature : cvFeatures) {
+                cvSkills.add(featureEngineeringService.skillSetOf(cvFeature));
+            }
+            String[] rejections = featureEngineeringService.screen(jobProfile, cvFeatures, cvSkills, constraints);
+
+            List<EvaluationCandidateRow> passed = new ArrayList<>(toExtract.size());
+            passedSkills = new ArrayList<>(toExtract.size());
+            for (int i = 0; i < toExtract.size(); i++) {
+                UUID cvId = toExtract.get(i).cvId();
+                if (rejections[i] != null) {
+                    log.debug("Filtered CV: {} - {}", cvId, rejections[i]);
+                    evaluations.add(createFilteredEvaluation(job, cvRepository.getReferenceById(cvId),
+                            existingEvaluations.get(cvId), evaluatedBy, evaluationHistory));
+                } else {
+                    passed.add(toExtract.get(i));
+                    passedSkills.add(cvSkills.get(i));
+                }
+            }
+            toExtract = passed;
+        }
 
-        // Lấy kết quả đầu tiên từ batch response
-        PredictionResult result = prediction.getFirstPrediction();
-        if (result == null) {
-            throw new RuntimeException("ML Service returned empty predictions");
+        // Trích xuất feature song song; row thứ k của matrix ứng với CV trích xuất thành công thứ k
+        RuntimeException[] extractionErrors = featureEngineeringService.extractFeatures(
+                jobProfile, toExtract.stream().map(EvaluationCandidateRow::features).toList(), passedSkills, features);
+        int row = 0;
+        for (int i = 0; i < toExtract.size(); i++) {
+            // Chỉ cần id để gắn vào Evaluation, không load lại CV
+            CV cv = cvRepository.getReferenceById(toExtract.get(i).cvId());
+            if (extractionErrors[i] != null) {
+                // Business/parsing errors - log and create failed evaluation
+                log.error("Failed to extract features for CV: {} - {}", cv.getId(), extractionErrors[i].getMessage(), extractionErrors[i]);
+                evaluations.add(createFailedEvaluation(job, cv, existingEvaluations.get(cv.getId()),
+                        evaluatedBy, evaluationHistory, extractionErrors[i].getMessage()));
+            } else {
+                pending.add(new PendingPrediction(cv, row++));
+            }
         }
 
-        // Tạo Evaluation entity từ kết quả dự đoán
-        Evaluation evaluation = Evaluation.builder()
-                .job(job)
-                .cv(cv)
-                .score(BigDecimal.valueOf(result.getScore()))
-                .confidence(result.getConfidence() != null ? 
-                           BigDecimal.valueOf(result.getConfidence()) : null)
-                .modelVersion(prediction.getModelVersion())
-                .evaluatedBy(evaluatedBy)
-                .evaluationHistory(evaluationHistory)
-                .build();
+        if (pending.isEmpty()) {
+            return persistChunk(job, evaluations, cachedCount, replacedScores, evaluatedCvIds);
+        }
+
+        // Gọi ML Service một lần cho cả chunk; lỗi chỉ ảnh hưởng đến các CV trong chunk này
+        PredictionResponse prediction;
+        try {
+            prediction = predictChunk(features);
+        } catch (MLServiceException e) {
+            if (abortOnMlError) {
+                log.error("Aborting evaluation for job: {}. Please ensure ML Service is running and try again.", jobId);
+                throw e; // Propagate to controller to show user-friendly error
+            }
+            log.error("ML Service error for {} CVs of job {}: {}", pending.size(), jobId, e.getMessage());
+            for (PendingPrediction item : pending) {
+                evaluations.add(createFailedEvaluation(job, item.cv(), existingEvaluations.get(item.cv().getId()),
+                        evaluatedBy, evaluationHistory, e.getMessage()));
+            }
+            return persistChunk(job, evaluations, cachedCount, replacedScores, evaluatedCvIds);
+        }
 
-        return evaluationRepository.save(evaluation);
+        for (int i = 0; i < pending.size(); i++) {
+            PendingPrediction item = pending.get(i);
+            try {
+                Evaluation evaluation = applyPrediction(job, item.cv(), existingEvaluations.get(item.cv().getId()),
+                        evaluatedBy, evaluationHistory, features.toFeatureVector(item.row()),
+                        prediction.getPredictions().get(i), prediction.getModelVersion());
+                evaluations.add(evaluation);
+                evaluatedCvIds.add(item.cv().getId());
+                log.debug("Successfully evaluated CV: {} with score: {}", item.cv().getId(), evaluation.getScore());
+            } catch (Exception e) {
+                log.error("Failed to evaluate CV: {} - {}", item.cv().getId(), e.getMessage(), e);
+                evaluations.add(createFailedEvaluation(job, item.cv(), existingEvaluations.get(item.cv().getId()),
+                        evaluatedBy, evaluationHistory, e.getMessage()));
+            }
+        }
+
+        return persistChunk(job, evaluations, cachedCount, replacedScores, evaluatedCvIds);
+    }
+
+    /**
+     * Ghi cả chunk một lần: evaluation mới có ID sinh phía client nên Hibernate gom các insert thành JDBC batch
+     * (reWriteBatchedInserts gộp tiếp thành insert nhiều row). Sau đó flush và clear persistence context để
+     * first-level cache không phình to khi đánh giá sync chạy nhiều chunk trong cùng một transaction.
+     */
+    private List<Evaluation> persistChunk(
+            JobDescription job,
+            List<Evaluation> evaluations,
+            int cachedCount,
+            List<AnalyticsRollupService.ReplacedScore> replacedScores,
+            List<UUID> evaluatedCvIds
+    ) {
+        evaluationRepository.saveAll(evaluations);
+        analyticsRollupService.recordEvaluationResults(job.getRecruiter().getId(),
+                evaluations.subList(cachedCount, evaluations.size()), replacedScores);
+
+        // Cập nhật status của JobApplication thành EVALUATED
+        markApplicationsEvaluated(job.getId(), evaluatedCvIds);
+
+        entityManager.flush();
+        entityManager.clear();
+        return evaluations;
+    }
+
+    private PredictionResponse predictChunk(FeatureMatrix features) {
+        PredictionResponse prediction = predictor.predict(features);
+
+        // Kết quả trả về theo đúng thứ tự của features trong request, nên phải đủ số lượng để map ngược lại theo index
+        int returned = prediction != null && prediction.getPredictions() != null ? prediction.getPredictions().size() : 0;
+        if (returned != features.getRowCount()) {
+            throw new MLServiceException(
+                "ML Service returned " + returned + " predictions for " + features.getRowCount() + " candidates",
+                "ML_RESPONSE_MISMATCH"
+            );
+        }
+        return prediction;
+    }
+
+    private Evaluation applyPrediction(
+            JobDescription job,
+            CV cv,
+            Evaluation existing,
+            User evaluatedBy,
+            EvaluationHistory evaluationHistory,
+            FeatureVector features,
+            PredictionResult result,
+            String modelVersion
+    ) {
+        // Ghi kết quả dự đoán, lưu kèm feature và explainability để đọc lại khi xem kết quả
+        Evaluation evaluation = evaluationFor(job, cv, existing);
+        evaluation.setScore(BigDecimal.valueOf(result.getScore()));
+        evaluation.setConfidence(result.getConfidence() != null ? 
+                BigDecimal.valueOf(result.getConfidence()) : null);
+        evaluation.setModelVersion(modelVersion);
+        evaluation.setFeatures(features);
+        evaluation.setExplainability(explainabilityService.buildExplainability(
+                features, result.getScore(), result.getConfidence()));
+        evaluation.setEvaluatedBy(evaluatedBy);
+        evaluation.setEvaluationHistory(evaluationHistory);
+        return evaluation;
     }
 
     private Evaluation createFailedEvaluation(
             JobDescription job,
             CV cv,
+            Evaluation existing,
             User evaluatedBy,
             EvaluationHistory evaluationHistory,
             String errorMessage
     ) {
-        Evaluation evaluation = Evaluation.builder()
+        Evaluation evaluation = evaluationFor(job, cv, existing);
+        evaluation.setScore(BigDecimal.ZERO);
+        evaluation.setConfidence(null);
+        evaluation.setModelVersion("FAILED");
+        evaluation.setFeatures(null);
+        evaluation.setExplainability(null);
+        evaluation.setEvaluatedBy(evaluatedBy);
+        evaluation.setEvaluationHistory(evaluationHistory);
+        return evaluation;
+    }
+
+    // CV bị pre-filter loại: lưu với model version FILTERED và điểm 0 (giống FAILED) để vẫn xuất hiện trong kết quả
+    private Evaluation createFilteredEvaluation(
+            JobDescription job,
+            CV cv,
+            Evaluation existing,
+            User evaluatedBy,
+            EvaluationHistory evaluationHistory
+    ) {
+        Evaluation evaluation = evaluationFor(job, cv, existing);
+        evaluation.setScore(BigDecimal.ZERO);
+        evaluation.setConfidence(null);
+        evaluation.setModelVersion("FILTERED");
+        evaluation.setFeatures(null);
+        evaluation.setExplainability(null);
+        evaluation.setEvaluatedBy(evaluatedBy);
+        evaluation.setEvaluationHistory(evaluationHistory);
+        return evaluation;
+    }
+
+    private static boolean isFiltered(Evaluation evaluation) {
+        return "FILTERED".equalsIgnoreCase(evaluation.getModelVersion());
+    }
+
+    // Mỗi cặp (job, cv) chỉ có một Evaluation (unique constraint): khi đánh giá lại thì ghi đè lên bản ghi cũ thay vì insert mới
+    private Evaluation evaluationFor(JobDescription job, CV cv, Evaluation existing) {
+        if (existing != null) {
+            // @PrePersist không chạy khi update nên tự cập nhật thời điểm đánh giá
+            existing.setEvaluatedAt(LocalDateTime.now());
+            return existing;
+        }
+        return Evaluation.builder()
                 .job(job)
                 .cv(cv)
-                .score(BigDecimal.ZERO)
-                .modelVersion("FAILED")
-                .evaluatedBy(evaluatedBy)
-                .evaluationHistory(evaluationHistory)
                 .build();
+    }
 
-        return evaluationRepository.save(evaluation);
+    // rank = null với evaluation FILTERED (không được xếp hạng)
+    private CandidateScoreDTO toCandidateScore(Evaluation eval, Integer rank) {
+        Candidate candidate = eval.getCv().getCandidate();
+        boolean failed = "FAILED".equalsIgnoreCase(eval.getModelVersion());
+        boolean filtered = isFiltered(eval);
+
+        return CandidateScoreDTO.builder()
+                .candidateId(candidate.getId())
+                .candidateName(candidate.getFullName())
+                .candidateEmail(candidate.getEmail())
+                .cvId(eval.getCv().getId())
+                .score(eval.getScore().doubleValue())
+                .rank(rank)
+                .confidence(eval.getConfidence() != null ? eval.getConfidence().doubleValue() : null)
+                .status(failed ? "FAILED" : filtered ? "FILTERED" : "SUCCESS")
+                .errorMessage(failed ? "Evaluation failed for this candidate"
+                        : filtered ? "Candidate does not meet the required criteria" : null)
+                .explainability(failed || filtered ? null : resolveExplainability(eval))
+                .build();
     }
 
     private EvaluationResponse buildEvaluationResponse(
@@ -275,32 +805,7 @@ public class EvaluationService {
         int rank = 1;
 
         for (Evaluation eval : evaluations) {
-            Candidate candidate = eval.getCv().getCandidate();
-            boolean failed = "FAILED".equalsIgnoreCase(eval.getModelVersion());
-
-            FeatureVector features = null;
-            if (!failed) {
-            features = featureEngineeringService.extractFeatures(eval.getJob(), eval.getCv());
-            }
-            
-            CandidateScoreDTO dto = CandidateScoreDTO.builder()
-                    .candidateId(candidate.getId())
-                    .candidateName(candidate.getFullName())
-                    .candidateEmail(candidate.getEmail())
-                    .cvId(eval.getCv().getId())
-                    .score(eval.getScore().doubleValue())
-                    .rank(rank++)
-                    .confidence(eval.getConfidence() != null ? eval.getConfidence().doubleValue() : null)
-                .status(failed ? "FAILED" : "SUCCESS")
-                .errorMessage(failed ? "Evaluation failed for this candidate" : null)
-                .explainability(failed ? null : explainabilityService.buildExplainability(
-                    features,
-                    eval.getScore().doubleValue(),
-                    eval.getConfidence() != null ? eval.getConfidence().doubleValue() : null
-                ))
-                    .build();
-            
-            candidateScores.add(dto);
+            candidateScores.add(toCandidateScore(eval, isFiltered(eval) ? null : rank++));
         }
 
         return EvaluationResponse.builder()
@@ -311,12 +816,29 @@ public class EvaluationService {
                 .totalEvaluated(history.getTotalCandidates())
                 .successCount(history.getSuccessCount())
                 .failureCount(history.getFailureCount())
+                .filteredCount(history.getFilteredCount() != null ? history.getFilteredCount() : 0)
                 .evaluatedAt(history.getEvaluationTime())
                 .modelVersion(history.getModelVersion())
                 .evaluatedBy(history.getEvaluatedBy().getId())
                 .build();
     }
 
+    // Đọc explainability đã lưu lúc chấm điểm; chỉ tính lại cho các evaluation cũ chưa có cột này
+    private CandidateExplainabilityDTO resolveExplainability(Evaluation eval) {
+        if (eval.getExplainability() != null) {
+            return eval.getExplainability();
+        }
+
+        FeatureVector features = eval.getFeatures() != null
+                ? eval.getFeatures()
+                : featureEngineeringService.extractFeatures(eval.getJob(), eval.getCv());
+        return explainabilityService.buildExplainability(
+                features,
+                eval.getScore().doubleValue(),
+                eval.getConfidence() != null ? eval.getConfidence().doubleValue() : null
+        );
+    }
+
     private EvaluationResponse buildEmptyResponse(JobDescription job, User user) {
         return EvaluationResponse.builder()
                 .jobId(job.getId())
@@ -325,18 +847,51 @@ public class EvaluationService {
                 .totalEvaluated(0)
                 .successCount(0)
                 .failureCount(0)
+                .filteredCount(0)
                 .evaluatedAt(LocalDateTime.now())
                 .modelVersion("N/A")
                 .evaluatedBy(user != null ? user.getId() : null)
                 .build();
     }
 
-    private void updateJobApplicationStatus(UUID jobId, UUID cvId, ApplicationStatus status) {
-        Optional<JobApplication> applicationOpt = jobApplicationRepository.findByJobIdAndCvId(jobId, cvId);
-        applicationOpt.ifPresent(application -> {
-            application.setStatus(status);
-            jobApplicationRepository.save(application);
-            log.debug("Updated JobApplication status to {} for job: {} and CV: {}", status, jobId, cvId);
-        });
+    private void markApplicationsEvaluated(UUID jobId, List<UUID> cvIds) {
+        if (cvIds.isEmpty()) {
+            return;
+        }
+        int updated = jobApplicationRepository.updateStatusByJobIdAndCvIdIn(
+                jobId, cvIds, ApplicationStatus.EVALUATED, LocalDateTime.now());
+        log.debug("Updated {} JobApplications to {} for job: {}", updated, ApplicationStatus.EVALUATED, jobId);
+    }
+
+    private EvaluationJobStatusResponse toStatusResponse(EvaluationHistory history) {
+        int success = history.getSuccessCount() != null ? history.getSuccessCount() : 0;
+        int failure = history.getFailureCount() != null ? history.getFailureCount() : 0;
+        int filtered = history.getFilteredCount() != null ? history.getFilteredCount() : 0;
+
+        return EvaluationJobStatusResponse.builder()
+                .evaluationId(history.getId())
+                .jobId(history.getJobDescription().getId())
+                // Các lịch sử cũ (trước khi có chạy nền) không có status, coi như đã hoàn tất
+                .status(history.getStatus() != null ? history.getStatus() : EvaluationStatus.COMPLETED)
+                .totalCandidates(history.getTotalCandidates())
+                .processedCount(history.getProcessedCount() != null ? history.getProcessedCount() : success + failure + filtered)
+                .successCount(success)
+                .failureCount(failure)
+                .filteredCount(filtered)
+                .errorMessage(history.getErrorMessage())
+                .submittedAt(history.getEvaluationTime())
+                .build();
+    }
+
+    private record PendingPrediction(CV cv, int row) {
+    }
+
+    private record EvaluationProgress(int processed, int success, int failure, int filtered) {
+    }
+
+    private record SubmittedEvaluation(JobDescription job, List<UUID> candidateIds, int totalCandidates, EvaluationHistory history) {
+    }
+
+    private record ChunkResult(int size, int success, int filtered, UUID lastApplicationId) {
     }
 }
@@ -1,175 +1,317 @@
 package com.smartrecruit.backend.service;
 
+import com.smartrecruit.backend.domain.cv.CVFeatures;
+import com.smartrecruit.backend.domain.cv.CVSkillSet;
+import com.smartrecruit.backend.domain.job.HardConstraints;
+import com.smartrecruit.backend.domain.job.JobProfile;
+import com.smartrecruit.backend.domain.job.JobRequirements;
+import com.smartrecruit.backend.domain.ml.FeatureMatrix;
+import com.smartrecruit.backend.dto.evaluation.EvaluationPreFilter;
 import com.smartrecruit.backend.dto.ml.FeatureVector;
 import com.smartrecruit.backend.entity.CV;
 import com.smartrecruit.backend.entity.JobDescription;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class FeatureEngineeringService {
 
+    // Dưới ngưỡng này thì trích xuất tuần tự, chi phí chia task lớn hơn lợi ích song song
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final ForkJoinPool featureExtractionPool;
+    private final SkillVocabulary skillVocabulary;
+
+    @Value("${app.evaluation.job-profile-cache.max-size:1000}")
+    private int jobProfileCacheSize;
+
+    // LRU theo jobId; mỗi job chỉ giữ profile của phiên bản (updatedAt) mới nhất
+    private final Map<UUID, JobProfile> jobProfiles = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, JobProfile> eldest) {
+                    return size() > jobProfileCacheSize;
+                }
+            });
+
+    /**
+     * Phần phía job chỉ phụ thuộc vào JobDescription nên được tính một lần cho mỗi phiên bản job
+     * và dùng lại cho mọi CV, mọi lần evaluate. Job được sửa (updatedAt thay đổi) thì profile được tính lại.
+     */
+    public JobProfile getJobProfile(JobDescription job) {
+        if (job.getId() == null) {
+            return buildJobProfile(job);
+        }
+
+        JobProfile cached = jobProfiles.get(job.getId());
+        if (cached != null && cached.isProfileOf(job.getId(), job.getUpdatedAt())) {
+            return cached;
+        }
+
+        JobProfile profile = buildJobProfile(job);
+        jobProfiles.put(job.getId(), profile);
+        log.debug("Built job profile for Job[{}] (version {})", job.getId(), job.getUpdatedAt());
+        return profile;
+    }
+
+    private JobProfile buildJobProfile(JobDescription job) {
+        JobRequirements requirements = job.getRequirements();
+        if (requirements == null) {
+            throw new IllegalArgumentException("Job " + job.getId() + " has no parsed requirements to evaluate against");
+        }
+        String seniority = requirements.getSeniority();
+
+        return new JobProfile(
+                job.getId(),
+                job.getUpdatedAt(),
+                skillVocabulary.internAll(parseSkills(requirements.getSkills())),
+                requirements.getMinExperience() != null ? requirements.getMinExperience().doubleValue() : 0.0,
+                mapEducationLevel(requirements.getEducation()),
+                seniority != null ? mapSeniorityLevel(seniority.toLowerCase().trim()) : null
+        );
+    }
+
     public FeatureVector extractFeatures(JobDescription job, CV cv) {
-        log.debug("Extracting features for Job[{}] + CV[{}]", 
-                  job.getId(), cv.getId());
+        double[] row = new double[FeatureMatrix.COLUMNS];
+        extractFeatures(getJobProfile(job), cv.getFeatures(), null, row, 0);
+        return FeatureVector.fromRow(row, 0);
+    }
 
-        // Parse dữ liệu
-        Set<String> jobSkills = parseSkills(job.getRequirements().getSkills());
-        Set<String> cvSkills = parseSkills(cv.getFeatures().getSkills().getDomainSkills());
-        
-        Integer jobMinExp = job.getRequirements().getMinExperience();
-        Integer cvTotalExp = cv.getFeatures().getExperience().getTotalYears();
-        
-        String jobEducation = job.getRequirements().getEducation();
-        String cvEducation = cv.getFeatures().getEducation().getHighestDegree();
-        
-        String jobSeniority = job.getRequirements().getSeniority();
+    /**
+     * Ghi 16 feature của cặp (job, cv) vào row tiếp theo của matrix, không tạo Map hay boxed value trung gian.
+     *
+     * @return index của row vừa được ghi
+     */
+    public int extractFeatures(JobProfile job, CVFeatures cv, FeatureMatrix matrix) {
+        return extractFeatures(job, cv, null, matrix);
+    }
+
+    // Như trên, dùng lại cvSkills đã chuẩn hoá (vd. khi chấm một CV với nhiều job); null thì tự chuẩn hoá
+    public int extractFeatures(JobProfile job, CVFeatures cv, CVSkillSet cvSkills, FeatureMatrix matrix) {
+        extractFeatures(job, cv, cvSkills, matrix.getData(), matrix.nextRowOffset());
+        return matrix.commitRow();
+    }
+
+    // Skill của CV chuẩn hoá theo SkillVocabulary, dùng chung cho pre-filter và trích xuất feature; null nếu CV chưa có skills
+    public CVSkillSet skillSetOf(CVFeatures cv) {
+        return cv != null && cv.getSkills() != null ? skillVocabulary.findAll(cv.getSkills().getDomainSkills()) : null;
+    }
+
+    /**
+     * Trích xuất feature cho cả danh sách CV, chia thành các phần chạy song song trên featureExtractionPool.
+     * Chỉ cần CVFeatures đã parse của mỗi CV. Các CV thành công được ghi vào matrix theo đúng thứ tự trong cvs (bỏ qua CV lỗi).
+     *
+     * @param cvSkills skill đã chuẩn hoá của từng CV (cùng thứ tự với cvs, xem screen), null thì tự chuẩn hoá
+     * @return mảng cùng độ dài với cvs, phần tử i là lỗi khi trích xuất cvs.get(i) hoặc null nếu thành công
+     */
+    public RuntimeException[] extractFeatures(JobProfile job, List<CVFeatures> cvs, List<CVSkillSet> cvSkills,
+                                              FeatureMatrix matrix) {
+        int count = cvs.size();
+        int firstRow = matrix.appendRows(count);
+        RuntimeException[] errors = new RuntimeException[count];
+
+        if (count < PARALLEL_THRESHOLD || featureExtractionPool.getParallelism() == 1) {
+            extractRange(job, cvs, cvSkills, matrix, firstRow, errors, 0, count);
+        } else {
+            int slices = Math.min(featureExtractionPool.getParallelism(), count / (PARALLEL_THRESHOLD / 2));
+            int sliceSize = (count + slices - 1) / slices;
+            List<Callable<Void>> tasks = new ArrayList<>(slices);
+            for (int from = 0; from < count; from += sliceSize) {
+                int start = from;
+                int end = Math.min(count, from + sliceSize);
+                tasks.add(() -> {
+                    extractRange(job, cvs, cvSkills, matrix, firstRow, errors, start, end);
+                    return null;
+                });
+            }
+            awaitAll(featureExtractionPool.invokeAll(tasks));
+        }
+
+        // Dồn các row thành công lại để row thứ k trong matrix ứng với CV thành công thứ k
+        BitSet failedRows = new BitSet();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] != null) {
+                failedRows.set(firstRow + i);
+            }
+        }
+        if (!failedRows.isEmpty()) {
+            matrix.removeRows(failedRows);
+        }
+        return errors;
+    }
+
+    /**
+     * Quy đổi pre-filter của request thành ngưỡng theo job.
+     *
+     * @return null nếu không có điều kiện nào cần kiểm tra
+     */
+    public HardConstraints toHardConstraints(JobProfile job, EvaluationPreFilter filter) {
+        if (filter == null || (filter.getMinSkillCoverage() == null && filter.getMinExperienceRatio() == null
+                && filter.getMinEducationLevel() == null)) {
+            return null;
+        }
+        // Trừ epsilon để coverage 0.5 trên 3 skill ra 2 skill chứ không phải 2 do sai số làm tròn lên 1.5000000001
+        int minSkillOverlap = filter.getMinSkillCoverage() != null
+                ? (int) Math.ceil(filter.getMinSkillCoverage() * job.skillCount() - 1e-9)
+                : 0;
+        double minExperienceYears = filter.getMinExperienceRatio() != null
+                ? filter.getMinExperienceRatio() * job.minExperience()
+                : 0.0;
+        int minEducationLevel = filter.getMinEducationLevel() != null ? filter.getMinEducationLevel() : 1;
+        return new HardConstraints(minSkillOverlap, minExperienceYears, minEducationLevel);
+    }
+
+    /**
+     * Kiểm tra điều kiện bắt buộc cho từng CV, rẻ hơn nhiều so với trích xuất đủ 16 feature và chấm điểm.
+     * CV thiếu dữ liệu đã parse không bị loại ở đây, để bước trích xuất feature ghi nhận lỗi như bình thường.
+     *
+     * @param cvSkills skill đã chuẩn hoá của từng CV (skillSetOf), truyền tiếp cho extractFeatures với các CV đạt
+     * @return mảng cùng độ dài với cvs, phần tử i là lý do cvs.get(i) bị loại hoặc null nếu đạt
+     */
+    public String[] screen(JobProfile job, List<CVFeatures> cvs, List<CVSkillSet> cvSkills, HardConstraints constraints) {
+        String[] rejections = new String[cvs.size()];
+        for (int i = 0; i < cvs.size(); i++) {
+            CVFeatures cv = cvs.get(i);
+            if (cv == null || cv.getSkills() == null || cv.getExperience() == null || cv.getEducation() == null) {
+                continue;
+            }
+            if (constraints.minSkillOverlap() > 0) {
+                int overlap = job.intersectionCount(cvSkills.get(i).bits());
+                if (overlap < constraints.minSkillOverlap()) {
+                    rejections[i] = "Matches " + overlap + " of " + job.skillCount()
+                            + " required skills, needs at least " + constraints.minSkillOverlap();
+                    continue;
+                }
+            }
+            Integer years = cv.getExperience().getTotalYears();
+            if ((years != null ? years : 0) < constraints.minExperienceYears()) {
+                rejections[i] = "Has " + (years != null ? years : 0) + " years of experience, needs at least "
+                        + constraints.minExperienceYears();
+                continue;
+            }
+            int educationLevel = mapEducationLevel(cv.getEducation().getHighestDegree());
+            if (educationLevel < constraints.minEducationLevel()) {
+                rejections[i] = "Education level " + educationLevel + " is below the required level "
+                        + constraints.minEducationLevel();
+            }
+        }
+        return rejections;
+    }
+
+    private void extractRange(JobProfile job, List<CVFeatures> cvs, List<CVSkillSet> cvSkills, FeatureMatrix matrix,
+                              int firstRow, RuntimeException[] errors, int from, int to) {
+        double[] data = matrix.getData();
+        for (int i = from; i < to; i++) {
+            try {
+                extractFeatures(job, cvs.get(i), cvSkills != null ? cvSkills.get(i) : null,
+                        data, matrix.rowOffset(firstRow + i));
+            } catch (RuntimeException e) {
+                errors[i] = e;
+            }
+        }
+    }
+
+    private void awaitAll(List<Future<Void>> futures) {
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Feature extraction was interrupted", e);
+        } catch (ExecutionException e) {
+            // extractRange tự bắt lỗi từng CV, nên tới đây là lỗi ngoài dự kiến (vd. OutOfMemoryError)
+            throw new IllegalStateException("Feature extraction failed", e.getCause());
+        }
+    }
+
+    private void extractFeatures(JobProfile job, CVFeatures cv, CVSkillSet cvSkills, double[] row, int offset) {
+        log.debug("Extracting features for Job[{}]", job.jobId());
+
+        // Parse dữ liệu phía CV; phía job đã có sẵn trong JobProfile
+        Integer cvTotalExp = cv.getExperience().getTotalYears();
+        String cvEducation = cv.getEducation().getHighestDegree();
 
         // Extract skill features (6 features)
-        Map<String, Object> skillFeatures = extractSkillFeatures(jobSkills, cvSkills);
+        writeSkillFeatures(job, cvSkills != null ? cvSkills : skillVocabulary.findAll(cv.getSkills().getDomainSkills()),
+                row, offset);
 
         // Extract experience features (5 features)
-        Map<String, Object> expFeatures = extractExperienceFeatures(jobMinExp, cvTotalExp);
+        writeExperienceFeatures(job.minExperience(), cvTotalExp, row, offset);
 
         // Extract education features (4 features)
-        Map<String, Object> eduFeatures = extractEducationFeatures(jobEducation, cvEducation);
+        writeEducationFeatures(job.educationLevel(), cvEducation, row, offset);
 
         // Extract seniority feature (1 feature)
-        int seniorityScore = calculateSeniorityMatch(jobSeniority, cvTotalExp);
-        
-        // Tạo FeatureVector
-        FeatureVector features = FeatureVector.builder()
-            // Skill features
-            .skillJaccard((Double) skillFeatures.get("jaccard"))
-            .skillCoverage((Double) skillFeatures.get("coverage"))
-            .skillPrecision((Double) skillFeatures.get("precision"))
-            .skillOverlapCount((Integer) skillFeatures.get("overlapCount"))
-            .jobSkillsCount((Integer) skillFeatures.get("jobCount"))
-            .cvSkillsCount((Integer) skillFeatures.get("cvCount"))
-            
-            // Experience features
-            .experienceGap((Double) expFeatures.get("gap"))
-            .experienceRatio((Double) expFeatures.get("ratio"))
-            .experienceMatch((Integer) expFeatures.get("match"))
-            .jobExperienceRequired(jobMinExp != null ? jobMinExp.doubleValue() : 0.0)
-            .cvExperienceYears(cvTotalExp != null ? cvTotalExp.doubleValue() : 0.0)
-            
-            // Education features
-            .educationGap((Integer) eduFeatures.get("gap"))
-            .educationMatch((Integer) eduFeatures.get("match"))
-            .jobEducationLevel((Integer) eduFeatures.get("jobLevel"))
-            .cvEducationLevel((Integer) eduFeatures.get("cvLevel"))
-            
-            // Seniority feature
-            .seniorityMatchScore(seniorityScore)
-            
-            .build();
-        
+        row[offset + FeatureMatrix.SENIORITY_MATCH_SCORE] = calculateSeniorityMatch(job.seniorityLevel(), cvTotalExp);
+
         log.debug("Extracted features: skillJaccard={}, expGap={}, eduMatch={}", 
-                  features.getSkillJaccard(), 
-                  features.getExperienceGap(),
-                  features.getEducationMatch());
-        
-        return features;
+                  row[offset + FeatureMatrix.SKILL_JACCARD],
+                  row[offset + FeatureMatrix.EXPERIENCE_GAP],
+                  row[offset + FeatureMatrix.EDUCATION_MATCH]);
     }
 
-    private Map<String, Object> extractSkillFeatures(Set<String> jobSkills, Set<String> cvSkills) {
-        Map<String, Object> features = new HashMap<>();
-        
-        // Base case: trường hợp set rỗng
-        if (jobSkills.isEmpty() && cvSkills.isEmpty()) {
-            features.put("jaccard", 0.0);
-            features.put("coverage", 0.0);
-            features.put("precision", 0.0);
-            features.put("overlapCount", 0);
-            features.put("jobCount", 0);
-            features.put("cvCount", 0);
-            return features;
-        }
-        
-        // Calculate overlap
-        Set<String> overlap = new HashSet<>(jobSkills);
-        overlap.retainAll(cvSkills);
-        
-        int overlapCount = overlap.size();
-        int jobCount = jobSkills.size();
-        int cvCount = cvSkills.size();
-        
-        // Tính Jaccard similarity
-        Set<String> union = new HashSet<>(jobSkills);
-        union.addAll(cvSkills);
-        double jaccard = union.isEmpty() ? 0.0 : (double) overlapCount / union.size();
-        
-        // Tính Coverage
-        double coverage = jobCount == 0 ? 0.0 : (double) overlapCount / jobCount;
-        
-        // Tính Precision
-        double precision = cvCount == 0 ? 0.0 : (double) overlapCount / cvCount;
-        
-        features.put("jaccard", jaccard);
-        features.put("coverage", coverage);
-        features.put("precision", precision);
-        features.put("overlapCount", overlapCount);
-        features.put("jobCount", jobCount);
-        features.put("cvCount", cvCount);
-        
-        return features;
+    private void writeSkillFeatures(JobProfile job, CVSkillSet cvSkills, double[] row, int offset) {
+        // Giao/hợp bằng AND + popcount trên bitset; |union| = |job| + |cv| - |overlap|
+        int jobCount = job.skillCount();
+        int cvCount = cvSkills.count();
+        int overlapCount = job.intersectionCount(cvSkills.bits());
+        int unionCount = jobCount + cvCount - overlapCount;
+
+        // Base case: trường hợp set rỗng thì tất cả đều bằng 0
+        row[offset + FeatureMatrix.SKILL_JACCARD] = unionCount == 0 ? 0.0 : (double) overlapCount / unionCount;
+        row[offset + FeatureMatrix.SKILL_COVERAGE] = jobCount == 0 ? 0.0 : (double) overlapCount / jobCount;
+        row[offset + FeatureMatrix.SKILL_PRECISION] = cvCount == 0 ? 0.0 : (double) overlapCount / cvCount;
+        row[offset + FeatureMatrix.SKILL_OVERLAP_COUNT] = overlapCount;
+        row[offset + FeatureMatrix.JOB_SKILLS_COUNT] = jobCount;
+        row[offset + FeatureMatrix.CV_SKILLS_COUNT] = cvCount;
     }
 
     private Set<String> parseSkills(List<String> skills) {
         if (skills == null || skills.isEmpty()) {
             return Collections.emptySet();
         }
-        
-        return skills.stream()
-            .filter(Objects::nonNull)
-            .map(String::trim)
-            .map(String::toLowerCase)
-            .filter(s -> !s.isEmpty())
-            .collect(Collectors.toSet());
-    }
 
-    private Map<String, Object> extractExperienceFeatures(Integer jobMinExp, Integer cvTotalExp) {
-        Map<String, Object> features = new HashMap<>();
+        Set<String> parsed = new HashSet<>(skills.size() * 2);
+        for (String skill : skills) {
+            if (skill == null) {
+                continue;
+            }
+            String normalized = skill.trim().toLowerCase();
+            if (!normalized.isEmpty()) {
+                parsed.add(normalized);
+            }
+        }
+        return parsed;
+    }
 
-        double jobExp = jobMinExp != null ? jobMinExp.doubleValue() : 0.0;
+    private void writeExperienceFeatures(double jobExp, Integer cvTotalExp, double[] row, int offset) {
         double cvExp = cvTotalExp != null ? cvTotalExp.doubleValue() : 0.0;
 
-        double gap = Math.abs(cvExp - jobExp);
-
-        double ratio = jobExp == 0.0 ? 0.0 : cvExp / jobExp;
-
-        int match = cvExp >= jobExp ? 1 : 0;
-        
-        features.put("gap", gap);
-        features.put("ratio", ratio);
-        features.put("match", match);
-        features.put("jobExp", jobExp);
-        features.put("cvExp", cvExp);
-        
-        return features;
+        row[offset + FeatureMatrix.EXPERIENCE_GAP] = Math.abs(cvExp - jobExp);
+        row[offset + FeatureMatrix.EXPERIENCE_RATIO] = jobExp == 0.0 ? 0.0 : cvExp / jobExp;
+        row[offset + FeatureMatrix.EXPERIENCE_MATCH] = cvExp >= jobExp ? 1 : 0;
+        row[offset + FeatureMatrix.JOB_EXPERIENCE_REQUIRED] = jobExp;
+        row[offset + FeatureMatrix.CV_EXPERIENCE_YEARS] = cvExp;
     }
 
-    private Map<String, Object> extractEducationFeatures(String jobEducation, String cvEducation) {
-        Map<String, Object> features = new HashMap<>();
-        
-        int jobLevel = mapEducationLevel(jobEducation);
+    private void writeEducationFeatures(int jobLevel, String cvEducation, double[] row, int offset) {
         int cvLevel = mapEducationLevel(cvEducation);
 
-        int gap = Math.abs(cvLevel - jobLevel);
-
-        int match = cvLevel >= jobLevel ? 1 : 0;
-        
-        features.put("gap", gap);
-        features.put("match", match);
-        features.put("jobLevel", jobLevel);
-        features.put("cvLevel", cvLevel);
-        
-        return features;
+        row[offset + FeatureMatrix.EDUCATION_GAP] = Math.abs(cvLevel - jobLevel);
+        row[offset + FeatureMatrix.EDUCATION_MATCH] = cvLevel >= jobLevel ? 1 : 0;
+        row[offset + FeatureMatrix.JOB_EDUCATION_LEVEL] = jobLevel;
+        row[offset + FeatureMatrix.CV_EDUCATION_LEVEL] = cvLevel;
     }
 
     private int mapEducationLevel(String education) {
@@ -192,13 +334,11 @@ public class FeatureEngineeringService {
         }
     }
 
-    private int calculateSeniorityMatch(String jobSeniority, Integer cvTotalExp) {
-        if (jobSeniority == null || cvTotalExp == null) {
+    private int calculateSeniorityMatch(Integer jobLevel, Integer cvTotalExp) {
+        if (jobLevel == null || cvTotalExp == null) {
             return 0;
         }
         
-        String normalized = jobSeniority.toLowerCase().trim();
-        int jobLevel = mapSeniorityLevel(normalized);
         int cvLevel = mapSeniorityLevelFromYears(cvTotalExp);
         
         int diff = Math.abs(cvLevel - jobLevel);
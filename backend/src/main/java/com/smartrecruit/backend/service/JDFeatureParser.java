@@ -100,6 +100,19 @@ public class JDFeatureParser {
             "senior", "lead", "principal", "staff", "expert"
     );
 
+    // Built once from every skill category; matches whole words only
+    private static final KeywordScanner SKILL_SCANNER = KeywordScanner.of(skillKeywords());
+
+    /**
+     * All skill keywords this parser can emit, used to seed SkillVocabulary
+     */
+    public static Set<String> skillKeywords() {
+        Set<String> keywords = new HashSet<>();
+        List.of(PROGRAMMING_LANGUAGES, FRAMEWORKS, DATABASES, DEVOPS_TOOLS, MARKETING_SKILLS, SALES_SKILLS,
+                ACCOUNTING_SKILLS, HEALTHCARE_SKILLS, SOFT_SKILLS).forEach(keywords::addAll);
+        return keywords;
+    }
+
     /**
      * Parse JobRequirements from JD text
      */
@@ -125,23 +138,10 @@ public class JDFeatureParser {
     }
 
     /**
-     * Parse skills from JD text
+     * Parse skills from JD text in a single pass over all skill categories
      */
     private List<String> parseSkills(String lower) {
-        Set<String> found = new LinkedHashSet<>();
-
-        // Parse all skill categories
-        found.addAll(findKeywords(lower, PROGRAMMING_LANGUAGES));
-        found.addAll(findKeywords(lower, FRAMEWORKS));
-        found.addAll(findKeywords(lower, DATABASES));
-        found.addAll(findKeywords(lower, DEVOPS_TOOLS));
-        found.addAll(findKeywords(lower, MARKETING_SKILLS));
-        found.addAll(findKeywords(lower, SALES_SKILLS));
-        found.addAll(findKeywords(lower, ACCOUNTING_SKILLS));
-        found.addAll(findKeywords(lower, HEALTHCARE_SKILLS));
-        found.addAll(findKeywords(lower, SOFT_SKILLS));
-
-        return new ArrayList<>(found);
+        return new ArrayList<>(SKILL_SCANNER.findAll(lower));
     }
 
     /**
@@ -213,19 +213,6 @@ public class JDFeatureParser {
         return null;
     }
 
-    /**
-     * Find keywords from a set in the text
-     */
-    private List<String> findKeywords(String lower, Set<String> keywords) {
-        List<String> found = new ArrayList<>();
-        for (String kw : keywords) {
-            if (lower.contains(kw)) {
-                found.add(kw);
-            }
-        }
-        return found;
-    }
-
     /**
      * Check if text contains any keyword from the set
      */
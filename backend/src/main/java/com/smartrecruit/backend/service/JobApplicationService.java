@@ -1,7 +1,9 @@
 package com.smartrecruit.backend.service;
 
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.application.JobApplicationRequest;
 import com.smartrecruit.backend.dto.application.JobApplicationResponse;
+import com.smartrecruit.backend.dto.application.JobApplicationRow;
 import com.smartrecruit.backend.entity.*;
 import com.smartrecruit.backend.enums.ApplicationStatus;
 import com.smartrecruit.backend.enums.RoleType;
@@ -80,6 +82,26 @@ public class JobApplicationService {
                 .collect(Collectors.toList());
     }
 
+    // Phân trang keyset theo thời điểm apply (mới nhất trước), điểm evaluation được lấy cùng query
+    @Transactional(readOnly = true)
+    public CursorPage<JobApplicationResponse> getPageByJobId(
+            UUID jobId, ApplicationStatus status, String cursor, Integer size, User currentUser) {
+        JobDescription job = jobDescriptionRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found: " + jobId));
+
+        authorizationService.ensureCanAccess(job.getRecruiter().getId(), currentUser);
+
+        int pageSize = PageCursor.sizeOf(size);
+        PageCursor.TimeKey after = PageCursor.decodeTimeKey(cursor);
+        List<JobApplicationRow> rows = jobApplicationRepository.findPageByJobId(
+                jobId, status,
+                after != null ? after.time() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        return CursorPage.of(rows.stream().map(this::toResponse).toList(), pageSize,
+                last -> PageCursor.encode(last.getAppliedAt(), last.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<JobApplicationResponse> getByCandidateId(UUID candidateId, User currentUser) {
         // Validate candidate exists
@@ -151,6 +173,22 @@ public class JobApplicationService {
                 .build();
     }
 
+    private JobApplicationResponse toResponse(JobApplicationRow row) {
+        return JobApplicationResponse.builder()
+                .id(row.id())
+                .jobId(row.jobId())
+                .candidateId(row.candidateId())
+                .candidateName(row.candidateName())
+                .candidateEmail(row.candidateEmail())
+                .cvId(row.cvId())
+                .cvFileName(extractFileName(row.cvFilePath()))
+                .status(row.status())
+                .appliedAt(row.appliedAt())
+                .updatedAt(row.updatedAt())
+                .score(row.score() != null ? row.score().doubleValue() : null)
+                .build();
+    }
+
     private String extractFileName(String filePath) {
         if (filePath == null) {
             return "Unknown";
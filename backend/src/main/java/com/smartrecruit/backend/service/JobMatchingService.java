@@ -0,0 +1,108 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.domain.cv.CVFeatures;
+import com.smartrecruit.backend.domain.cv.CVSkillSet;
+import com.smartrecruit.backend.domain.ml.FeatureMatrix;
+import com.smartrecruit.backend.dto.job.JobMatchResponse;
+import com.smartrecruit.backend.dto.ml.PredictionResponse;
+import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.enums.RoleType;
+import com.smartrecruit.backend.repository.CVRepository;
+import com.smartrecruit.backend.repository.JobDescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chiều ngược lại của evaluation: với một CV, tìm các job đang mở tuyển phù hợp nhất.
+ * Job ứng viên được lấy từ OpenJobSkillIndex (có skill trùng với CV), rồi chấm cả lô bằng model như khi evaluate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobMatchingService {
+
+    private static final int DEFAULT_TOP_K = 10;
+    private static final int MAX_TOP_K = 50;
+    // Số job tối đa (nhiều skill trùng nhất) được đưa vào model cho một lần tìm
+    private static final int MAX_CANDIDATE_JOBS = 200;
+
+    private final CVRepository cvRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final OpenJobSkillIndex openJobSkillIndex;
+    private final FeatureEngineeringService featureEngineeringService;
+    private final Predictor predictor;
+
+    public List<JobMatchResponse> findMatchingJobs(UUID cvId, Integer topK, User currentUser) {
+        // Recruiter chỉ được gợi ý trong các job của mình, admin thấy mọi job
+        UUID recruiterId;
+        if (currentUser.getRole() == RoleType.ADMIN) {
+            recruiterId = null;
+        } else if (currentUser.getRole() == RoleType.RECRUITER) {
+            recruiterId = currentUser.getId();
+        } else {
+            throw new org.springframework.security.access.AccessDeniedException("Only RECRUITER or ADMIN can match jobs");
+        }
+        int limit = topK != null ? Math.max(1, Math.min(MAX_TOP_K, topK)) : DEFAULT_TOP_K;
+
+        CVFeatures features = cvRepository.findFeaturesById(cvId)
+                .orElseThrow(() -> cvRepository.existsById(cvId)
+                        ? new IllegalArgumentException("CV has no parsed features: " + cvId)
+                        : new IllegalArgumentException("CV not found: " + cvId));
+
+        // Skill của CV chỉ chuẩn hoá một lần, dùng cho cả index lẫn trích xuất feature với từng job
+        CVSkillSet cvSkills = featureEngineeringService.skillSetOf(features);
+        if (cvSkills == null) {
+            return List.of();
+        }
+        List<OpenJobSkillIndex.Candidate> candidates = openJobSkillIndex.findCandidates(
+                cvSkills.bits(), recruiterId, MAX_CANDIDATE_JOBS);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Index có thể chưa biết job vừa bị đóng/xoá ở instance khác, nên kiểm tra lại trạng thái trong DB
+        Set<UUID> stillOpen = new HashSet<>(jobDescriptionRepository.findIdsByIdInAndStatusIn(
+                candidates.stream().map(candidate -> candidate.job().jobId()).toList(),
+                OpenJobSkillIndex.OPEN_STATUSES));
+        candidates = candidates.stream()
+                .filter(candidate -> stillOpen.contains(candidate.job().jobId()))
+                .toList();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        FeatureMatrix matrix = new FeatureMatrix(candidates.size());
+        for (OpenJobSkillIndex.Candidate candidate : candidates) {
+            featureEngineeringService.extractFeatures(candidate.job().profile(), features, cvSkills, matrix);
+        }
+        PredictionResponse prediction = predictor.predict(matrix);
+
+        List<JobMatchResponse> matches = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            OpenJobSkillIndex.Candidate candidate = candidates.get(i);
+            matches.add(JobMatchResponse.builder()
+                    .jobId(candidate.job().jobId())
+                    .jobTitle(candidate.job().title())
+                    .recruiterId(candidate.job().recruiterId())
+                    .score(prediction.getPredictions().get(i).getScore())
+                    .skillOverlap(candidate.skillOverlap())
+                    .build());
+        }
+        matches.sort(Comparator.comparing(JobMatchResponse::getScore).reversed());
+
+        List<JobMatchResponse> top = new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+        for (int i = 0; i < top.size(); i++) {
+            top.get(i).setRank(i + 1);
+        }
+        log.debug("Matched CV {} against {} candidate jobs (index size {})", cvId, candidates.size(), openJobSkillIndex.size());
+        return top;
+    }
+}
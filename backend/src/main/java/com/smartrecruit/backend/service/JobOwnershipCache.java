@@ -0,0 +1,80 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.dto.admin.CacheStats;
+import com.smartrecruit.backend.repository.JobDescriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Map jobId -> recruiterId (chủ sở hữu) cho các kiểm tra quyền theo job, để không phải query DB mỗi request.
+ * Nạp lazy khi job được kiểm tra lần đầu; cập nhật khi job được tạo và xoá khi job bị xoá (sau khi commit).
+ * Job không tồn tại thì không được cache.
+ */
+@Component
+public class JobOwnershipCache {
+
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final int maxSize;
+    private final Map<UUID, UUID> owners;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JobOwnershipCache(
+            JobDescriptionRepository jobDescriptionRepository,
+            @Value("${app.security.job-ownership-cache.max-size:10000}") int maxSize
+    ) {
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.maxSize = maxSize;
+        this.owners = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, UUID> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    // Empty khi job không tồn tại
+    public Optional<UUID> findOwner(UUID jobId) {
+        UUID ownerId = owners.get(jobId);
+        if (ownerId != null) {
+            hits.increment();
+            return Optional.of(ownerId);
+        }
+
+        misses.increment();
+        Optional<UUID> loaded = jobDescriptionRepository.findRecruiterIdById(jobId);
+        loaded.ifPresent(id -> owners.put(jobId, id));
+        return loaded;
+    }
+
+    public void jobCreated(UUID jobId, UUID ownerId) {
+        AfterCommit.run(() -> owners.put(jobId, ownerId));
+    }
+
+    // Gọi khi job bị xoá hoặc đổi recruiter
+    public void evict(UUID jobId) {
+        AfterCommit.run(() -> owners.remove(jobId));
+    }
+
+    public CacheStats getStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return CacheStats.builder()
+                .name("job-ownership")
+                .size(owners.size())
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(misses.sum())
+                .hitRate(total == 0 ? 0 : (double) hitCount / total)
+                .expiredEvictions(0)
+                .build();
+    }
+}
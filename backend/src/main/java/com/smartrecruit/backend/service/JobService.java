@@ -1,12 +1,14 @@
 package com.smartrecruit.backend.service;
 
 import com.smartrecruit.backend.domain.job.JobRequirements;
+import com.smartrecruit.backend.dto.CursorPage;
 import com.smartrecruit.backend.dto.job.JobCreateMultipartRequest;
 import com.smartrecruit.backend.dto.job.JobCreateRequest;
 import com.smartrecruit.backend.dto.job.JobResponse;
 import com.smartrecruit.backend.dto.job.JobUpdateRequest;
 import com.smartrecruit.backend.entity.JobDescription;
 import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.enums.JobStatus;
 import com.smartrecruit.backend.enums.RoleType;
 import com.smartrecruit.backend.repository.JobDescriptionRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +30,9 @@ public class JobService {
     private final FileStorageService fileStorageService;
     private final JDTextExtractor jdTextExtractor;
     private final JDFeatureParser jdFeatureParser;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final JobOwnershipCache jobOwnershipCache;
+    private final OpenJobSkillIndex openJobSkillIndex;
 
     @Transactional
     public JobResponse create(JobCreateRequest request, User currentUser) {
@@ -44,6 +49,9 @@ public class JobService {
                 .recruiter(currentUser)
                 .build();
         job = jobDescriptionRepository.save(job);
+        analyticsRollupService.recordJobCreated(job);
+        jobOwnershipCache.jobCreated(job.getId(), currentUser.getId());
+        openJobSkillIndex.jobSaved(job);
         return toResponse(job);
     }
 
@@ -92,6 +100,9 @@ public class JobService {
                 .build();
         
         job = jobDescriptionRepository.save(job);
+        analyticsRollupService.recordJobCreated(job);
+        jobOwnershipCache.jobCreated(job.getId(), currentUser.getId());
+        openJobSkillIndex.jobSaved(job);
 
         // Store JD file
         if (request.getJdFile() != null && !request.getJdFile().isEmpty()) {
@@ -117,6 +128,28 @@ public class JobService {
         throw new org.springframework.security.access.AccessDeniedException("Only RECRUITER or ADMIN can list jobs");
     }
 
+    // Phân trang keyset theo thời điểm tạo (mới nhất trước); recruiter chỉ thấy job của mình
+    public CursorPage<JobResponse> findPage(JobStatus status, String query, String cursor, Integer size, User currentUser) {
+        UUID recruiterId;
+        if (currentUser.getRole() == RoleType.ADMIN) {
+            recruiterId = null;
+        } else if (currentUser.getRole() == RoleType.RECRUITER) {
+            recruiterId = currentUser.getId();
+        } else {
+            throw new org.springframework.security.access.AccessDeniedException("Only RECRUITER or ADMIN can list jobs");
+        }
+
+        int pageSize = PageCursor.sizeOf(size);
+        PageCursor.TimeKey after = PageCursor.decodeTimeKey(cursor);
+        List<JobDescription> rows = jobDescriptionRepository.findPage(
+                recruiterId, status, PageCursor.containsPattern(query),
+                after != null ? after.time() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        return CursorPage.of(rows.stream().map(this::toResponse).toList(), pageSize,
+                last -> PageCursor.encode(last.getCreatedAt(), last.getId()));
+    }
+
     public JobResponse getById(UUID jobId, User currentUser) {
         JobDescription job = jobDescriptionRepository.findByIdWithRecruiter(jobId)
                 .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
@@ -147,16 +180,19 @@ public class JobService {
         }
 
         job = jobDescriptionRepository.save(job);
+        openJobSkillIndex.jobSaved(job);
         return toResponse(job);
     }
 
     @Transactional
     public void delete(UUID jobId, User currentUser) {
-        if (!jobDescriptionRepository.existsById(jobId)) {
-            throw new IllegalArgumentException("Job not found: " + jobId);
-        }
+        JobDescription job = jobDescriptionRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Job not found: " + jobId));
         authorizationService.ensureCanAccessJob(currentUser, jobId);
-        jobDescriptionRepository.deleteById(jobId);
+        analyticsRollupService.recordJobDeleted(job);
+        jobDescriptionRepository.delete(job);
+        jobOwnershipCache.evict(jobId);
+        openJobSkillIndex.jobDeleted(jobId);
     }
 
     private JobResponse toResponse(JobDescription job) {
@@ -0,0 +1,97 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.dto.admin.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claims đã verify của các JWT đang được dùng, để frontend poll nhiều endpoint với cùng một token
+ * không phải parse và kiểm tra chữ ký HMAC lại mỗi request. Key là SHA-256 của cả token (gồm chữ ký),
+ * nên chỉ đúng token đã verify mới hit, và cache không giữ token gốc. Entry bị xoá khi token hết hạn.
+ */
+@Component
+public class JwtClaimsCache {
+
+    public record VerifiedToken(String subject, Instant expiresAt) {
+
+        public boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+
+    private final int maxSize;
+    private final Map<String, VerifiedToken> tokens;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+
+    public JwtClaimsCache(@Value("${app.security.jwt-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.tokens = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                if (eldest.getValue().isExpired(Instant.now())) {
+                    expiredEvictions.increment();
+                    return true;
+                }
+                return size() > maxSize;
+            }
+        });
+    }
+
+    // Null khi token chưa được verify hoặc đã hết hạn, lúc đó caller phải parse lại token
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        VerifiedToken verified = tokens.get(key);
+        if (verified == null) {
+            misses.increment();
+            return null;
+        }
+        if (verified.isExpired(Instant.now())) {
+            tokens.remove(key);
+            expiredEvictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        tokens.put(digest(token), verified);
+    }
+
+    public CacheStats getStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return CacheStats.builder()
+                .name("jwt-claims")
+                .size(tokens.size())
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(misses.sum())
+                .hitRate(total == 0 ? 0 : (double) hitCount / total)
+                .expiredEvictions(expiredEvictions.sum())
+                .build();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.smartrecruit.backend.service;
 
 import com.smartrecruit.backend.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 
@@ -22,6 +26,9 @@ public class JwtService {
     @Value("${JWT_EXPIRATION}")
     private long jwtExpiration;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
     public String generateToken(User user){
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId().toString());
@@ -36,6 +43,12 @@ public class JwtService {
                 .compact();
     }
 
+    // Parse và verify chữ ký một lần, chỉ giữ lại subject và thời điểm hết hạn để cache
+    public JwtClaimsCache.VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtClaimsCache.VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -60,6 +73,10 @@ public class JwtService {
         return (username.equals(user.getEmail())) && !isTokenExpired(token);
     }
 
+    public boolean isTokenValid(JwtClaimsCache.VerifiedToken token, User user) {
+        return user.getEmail().equals(token.subject()) && !token.isExpired(Instant.now());
+    }
+
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -69,16 +86,20 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // Key và parser chỉ phụ thuộc vào secret nên được tạo một lần
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(sha256(jwtSecretKey.getBytes(StandardCharsets.UTF_8)));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     private Key getSigningKey(){
-        byte[] keyBytes = sha256(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     /**
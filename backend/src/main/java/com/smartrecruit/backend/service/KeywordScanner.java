@@ -0,0 +1,145 @@
+package com.smartrecruit.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tìm tất cả keyword trong một đoạn text chỉ với một lần duyệt (Aho-Corasick), thay vì gọi contains() cho từng keyword.
+ * Keyword chỉ được tính khi đứng thành từ riêng: ký tự ngay trước và ngay sau phải không phải chữ/số,
+ * nên "r" không khớp trong "react" và "go" không khớp trong "google". Đầu/cuối keyword là ký tự đặc biệt
+ * (".net", "c++", "c#") thì không cần kiểm tra biên ở phía đó.
+ * Keyword và text đều phải ở dạng lowercase. Immutable sau khi dựng, dùng chung được giữa các thread.
+ */
+final class KeywordScanner {
+
+    private final String[] keywords;
+    // Cạnh của node i: keys[i] (đã sắp xếp) -> targets[i]
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // Index các keyword kết thúc tại node (gồm cả keyword theo fail link)
+    private final int[][] outputs;
+
+    private KeywordScanner(String[] keywords, char[][] keys, int[][] targets, int[] fail, int[][] outputs) {
+        this.keywords = keywords;
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    static KeywordScanner of(Collection<String> keywordList) {
+        String[] keywords = new LinkedHashSet<>(keywordList).stream()
+                .filter(keyword -> !keyword.isEmpty())
+                .toArray(String[]::new);
+
+        // Dựng trie
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeOutputs.add(new ArrayList<>());
+        for (int k = 0; k < keywords.length; k++) {
+            int node = 0;
+            for (char c : keywords[k].toCharArray()) {
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(k);
+        }
+
+        int size = children.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = children.get(node);
+            keys[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (var edge : edges.entrySet()) {
+                keys[node][i] = edge.getKey();
+                targets[node][i++] = edge.getValue();
+            }
+        }
+
+        // Fail link theo BFS; output của node gộp thêm output của node fail
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = new int[0];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] own = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+            int[] inherited = outputs[fail[node]];
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            outputs[node] = merged;
+
+            for (int i = 0; i < keys[node].length; i++) {
+                int child = targets[node][i];
+                int state = fail[node];
+                int next;
+                while ((next = step(keys, targets, state, keys[node][i])) < 0 && state != 0) {
+                    state = fail[state];
+                }
+                fail[child] = next >= 0 ? next : 0;
+                queue.add(child);
+            }
+        }
+
+        return new KeywordScanner(keywords, keys, targets, fail, outputs);
+    }
+
+    /**
+     * @param lower text đã lowercase
+     * @return các keyword tìm thấy, theo thứ tự xuất hiện lần đầu trong text
+     */
+    Set<String> findAll(String lower) {
+        Set<String> found = new LinkedHashSet<>();
+        int state = 0;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            int next;
+            while ((next = step(keys, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            for (int k : outputs[state]) {
+                String keyword = keywords[k];
+                int start = i - keyword.length() + 1;
+                boolean leftOk = !Character.isLetterOrDigit(keyword.charAt(0)) || isBoundary(lower, start - 1);
+                boolean rightOk = !Character.isLetterOrDigit(keyword.charAt(keyword.length() - 1)) || isBoundary(lower, i + 1);
+                if (leftOk && rightOk) {
+                    found.add(keyword);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int step(char[][] keys, int[][] targets, int node, char c) {
+        int i = Arrays.binarySearch(keys[node], c);
+        return i >= 0 ? targets[node][i] : -1;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+}
@@ -21,7 +21,7 @@ import java.util.Map;
 
 @Service
 @Slf4j
-public class MLServiceClient {
+public class MLServiceClient implements Predictor {
 
     private static final String DEFAULT_API_PREFIX = "/api/v1";
     
@@ -34,6 +34,7 @@ public class MLServiceClient {
         this.restTemplate = restTemplate;
     }
 
+    @Override
     public PredictionResponse predict(PredictionRequest request) {
         String url = buildMlEndpointUrl("/predict");
         
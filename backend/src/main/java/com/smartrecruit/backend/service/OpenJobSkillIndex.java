@@ -0,0 +1,251 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.domain.job.JobProfile;
+import com.smartrecruit.backend.entity.JobDescription;
+import com.smartrecruit.backend.enums.JobStatus;
+import com.smartrecruit.backend.repository.JobDescriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index skill ID -> các job đang mở tuyển, để tìm job phù hợp với một CV mà không phải chấm CV với mọi job.
+ * Dựng lazy từ DB ở lần tìm đầu tiên, sau đó JobService cập nhật khi job được tạo/sửa/xoá (sau khi commit).
+ * Thay đổi từ instance khác (nhiều pod) không tới được đây, nên index được dựng lại sau mỗi khoảng ttl;
+ * caller vẫn phải kiểm tra lại trạng thái job trong DB trước khi trả kết quả.
+ * Job chỉ được index khi đang nhận ứng viên (OPEN, ACTIVE) và đã có requirements.
+ */
+@Component
+@Slf4j
+public class OpenJobSkillIndex {
+
+    static final Set<JobStatus> OPEN_STATUSES = EnumSet.of(JobStatus.OPEN, JobStatus.ACTIVE);
+
+    // Job trong index cùng profile (skill bitset, level...) để chấm điểm, không cần load lại JobDescription
+    public record IndexedJob(UUID jobId, String title, UUID recruiterId, JobProfile profile) {
+    }
+
+    // Job ứng viên lấy từ index kèm số skill trùng với CV
+    public record Candidate(IndexedJob job, int skillOverlap) {
+    }
+
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final FeatureEngineeringService featureEngineeringService;
+
+    private final Duration ttl;
+
+    // lock bảo vệ jobsBySkill, jobs, building và pendingChanges
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Chỉ một thread dựng index tại một thời điểm; việc đọc DB không giữ lock để search và cập nhật không bị chặn
+    private final Lock buildLock = new ReentrantLock();
+    private Map<Integer, Set<UUID>> jobsBySkill = new HashMap<>();
+    private Map<UUID, IndexedJob> jobs = new HashMap<>();
+    // Thay đổi commit trong lúc đang đọc DB để dựng index: áp lại lên index mới, vì lần đọc có thể đã bỏ lỡ chúng.
+    // Value null = job bị gỡ khỏi index
+    private final Map<UUID, IndexedJob> pendingChanges = new LinkedHashMap<>();
+    private boolean building;
+    private volatile boolean loaded;
+    private volatile Instant builtAt = Instant.MIN;
+
+    public OpenJobSkillIndex(JobDescriptionRepository jobDescriptionRepository,
+                             FeatureEngineeringService featureEngineeringService,
+                             @Value("${app.matching.job-index.ttl:5m}") Duration ttl) {
+        this.jobDescriptionRepository = jobDescriptionRepository;
+        this.featureEngineeringService = featureEngineeringService;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Các job có ít nhất một skill trùng với CV, nhiều skill trùng nhất trước.
+     *
+     * @param cvSkillBits bitset skill của CV (CVSkillSet.bits)
+     * @param recruiterId chỉ lấy job của recruiter này, null = mọi job
+     * @param limit       số job tối đa trả về
+     */
+    public List<Candidate> findCandidates(long[] cvSkillBits, UUID recruiterId, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> overlaps = new HashMap<>();
+            for (int word = 0; word < cvSkillBits.length; word++) {
+                long remaining = cvSkillBits[word];
+                while (remaining != 0) {
+                    Set<UUID> postings = jobsBySkill.get((word << 6) + Long.numberOfTrailingZeros(remaining));
+                    if (postings != null) {
+                        postings.forEach(jobId -> overlaps.merge(jobId, 1, Integer::sum));
+                    }
+                    remaining &= remaining - 1;
+                }
+            }
+
+            List<Candidate> candidates = new ArrayList<>(overlaps.size());
+            overlaps.forEach((jobId, overlap) -> {
+                IndexedJob job = jobs.get(jobId);
+                if (recruiterId == null || recruiterId.equals(job.recruiterId())) {
+                    candidates.add(new Candidate(job, overlap));
+                }
+            });
+            candidates.sort(Comparator.comparingInt(Candidate::skillOverlap).reversed());
+            return candidates.size() > limit ? candidates.subList(0, limit) : candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Gọi sau khi tạo hoặc sửa job; job không còn mở tuyển thì bị gỡ khỏi index
+    public void jobSaved(JobDescription job) {
+        AfterCommit.run(() -> apply(job.getId(), toIndexedJob(job)));
+    }
+
+    public void jobDeleted(UUID jobId) {
+        AfterCommit.run(() -> apply(jobId, null));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cập nhật một job trong index. Kiểm tra trạng thái trong write lock: khi index đang được dựng thì thay đổi được
+     * xếp hàng để áp lên index mới; khi chưa dựng lần nào thì bỏ qua vì lần dựng sau sẽ đọc được từ DB.
+     */
+    private void apply(UUID jobId, IndexedJob indexed) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingChanges.put(jobId, indexed);
+            }
+            if (loaded) {
+                replace(jobs, jobsBySkill, jobId, indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Dựng index lần đầu (các thread khác chờ), hoặc dựng lại khi quá ttl (một thread dựng, các thread khác dùng index cũ)
+    private void ensureLoaded() {
+        if (loaded && builtAt.plus(ttl).isAfter(Instant.now())) {
+            return;
+        }
+        if (loaded) {
+            if (!buildLock.tryLock()) {
+                return;
+            }
+        } else {
+            buildLock.lock();
+        }
+        try {
+            if (loaded && builtAt.plus(ttl).isAfter(Instant.now())) {
+                return;
+            }
+            rebuild();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<UUID, IndexedJob> freshJobs = new HashMap<>();
+        Map<Integer, Set<UUID>> freshJobsBySkill = new HashMap<>();
+        try {
+            for (JobStatus status : OPEN_STATUSES) {
+                for (JobDescription job : jobDescriptionRepository.findByStatus(status)) {
+                    IndexedJob indexed = toIndexedJob(job);
+                    if (indexed != null) {
+                        add(freshJobs, freshJobsBySkill, indexed);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach((jobId, indexed) -> replace(freshJobs, freshJobsBySkill, jobId, indexed));
+            pendingChanges.clear();
+            jobs = freshJobs;
+            jobsBySkill = freshJobsBySkill;
+            building = false;
+            builtAt = Instant.now();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built open job skill index: {} jobs, {} skills", freshJobs.size(), freshJobsBySkill.size());
+    }
+
+    // Null khi job không được index (không mở tuyển hoặc chưa có requirements)
+    private IndexedJob toIndexedJob(JobDescription job) {
+        if (!OPEN_STATUSES.contains(job.getStatus()) || job.getRequirements() == null) {
+            return null;
+        }
+        return new IndexedJob(job.getId(), job.getTitle(), job.getRecruiter().getId(),
+                featureEngineeringService.getJobProfile(job));
+    }
+
+    private static void replace(Map<UUID, IndexedJob> jobs, Map<Integer, Set<UUID>> jobsBySkill,
+                                UUID jobId, IndexedJob indexed) {
+        remove(jobs, jobsBySkill, jobId);
+        if (indexed != null) {
+            add(jobs, jobsBySkill, indexed);
+        }
+    }
+
+    private static void add(Map<UUID, IndexedJob> jobs, Map<Integer, Set<UUID>> jobsBySkill, IndexedJob job) {
+        jobs.put(job.jobId(), job);
+        job.profile().forEachSkill(skillId ->
+                jobsBySkill.computeIfAbsent(skillId, id -> new HashSet<>()).add(job.jobId()));
+    }
+
+    private static void remove(Map<UUID, IndexedJob> jobs, Map<Integer, Set<UUID>> jobsBySkill, UUID jobId) {
+        IndexedJob job = jobs.remove(jobId);
+        if (job == null) {
+            return;
+        }
+        job.profile().forEachSkill(skillId -> {
+            Set<UUID> postings = jobsBySkill.get(skillId);
+            if (postings != null && postings.remove(jobId) && postings.isEmpty()) {
+                jobsBySkill.remove(skillId);
+            }
+        });
+    }
+}
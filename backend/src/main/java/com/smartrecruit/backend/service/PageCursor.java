@@ -0,0 +1,115 @@
+package com.smartrecruit.backend.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor của các endpoint phân trang keyset: giá trị sort của item cuối trang kèm id (để thứ tự ổn định khi trùng giá trị),
+ * encode base64url để client chỉ cần gửi lại nguyên chuỗi.
+ */
+final class PageCursor {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    // Vị trí sau một item sắp xếp theo (createdAt DESC, id DESC)
+    record TimeKey(LocalDateTime time, UUID id) {
+    }
+
+    // Vị trí sau một item sắp xếp theo (score DESC, id DESC), kèm rank của item đó để trang sau đánh rank tiếp
+    record ScoreKey(BigDecimal score, UUID id, int rank) {
+    }
+
+    // Như ScoreKey, kèm tổng số ứng viên được xếp hạng đếm ở trang đầu để các trang sau không phải COUNT lại
+    record RankKey(BigDecimal score, UUID id, int rank, long total) {
+    }
+
+    private PageCursor() {
+    }
+
+    static int sizeOf(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(MAX_SIZE, size));
+    }
+
+    static String encode(LocalDateTime time, UUID id) {
+        return encode(time + SEPARATOR + id);
+    }
+
+    static String encode(BigDecimal score, UUID id, int rank) {
+        return encode(score.toPlainString() + SEPARATOR + id + SEPARATOR + rank);
+    }
+
+    static String encode(BigDecimal score, UUID id, int rank, long total) {
+        return encode(score.toPlainString() + SEPARATOR + id + SEPARATOR + rank + SEPARATOR + total);
+    }
+
+    static TimeKey decodeTimeKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decode(cursor, 2);
+        try {
+            return new TimeKey(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static ScoreKey decodeScoreKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decode(cursor, 3);
+        try {
+            return new ScoreKey(new BigDecimal(parts[0]), UUID.fromString(parts[1]), Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static RankKey decodeRankKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = decode(cursor, 4);
+        try {
+            return new RankKey(new BigDecimal(parts[0]), UUID.fromString(parts[1]),
+                    Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Pattern cho LIKE không phân biệt hoa thường, null khi không lọc
+    static String containsPattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return "%" + query.trim().toLowerCase() + "%";
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor, int parts) {
+        String[] values;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (values.length != parts) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,30 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.domain.ml.FeatureMatrix;
+import com.smartrecruit.backend.dto.ml.FeatureVector;
+import com.smartrecruit.backend.dto.ml.PredictionRequest;
+import com.smartrecruit.backend.dto.ml.PredictionResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chấm điểm một batch FeatureVector. Kết quả trả về theo đúng thứ tự của features trong request.
+ * Mặc định dùng MLServiceClient (gọi HTTP sang ML Service); đặt ml.predictor=local để dùng TreeEnsemblePredictor chạy trong JVM.
+ */
+public interface Predictor {
+
+    PredictionResponse predict(PredictionRequest request);
+
+    /**
+     * Chấm điểm các row của matrix theo thứ tự. Mặc định chuyển về FeatureVector (DTO JSON) để gửi đi;
+     * predictor chạy trong JVM nên override để đọc trực tiếp mảng primitive.
+     */
+    default PredictionResponse predict(FeatureMatrix matrix) {
+        List<FeatureVector> features = new ArrayList<>(matrix.getRowCount());
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            features.add(matrix.toFeatureVector(row));
+        }
+        return predict(new PredictionRequest(features));
+    }
+}
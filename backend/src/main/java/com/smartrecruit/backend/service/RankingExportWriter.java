@@ -0,0 +1,102 @@
+package com.smartrecruit.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.smartrecruit.backend.dto.evaluation.CandidateScoreDTO;
+import com.smartrecruit.backend.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Ghi từng ứng viên của bảng xếp hạng ra response ngay khi đọc được, không giữ lại row nào trong bộ nhớ.
+ * Flush sau row đầu tiên để client nhận byte đầu sớm, sau đó flush theo từng nhóm row.
+ */
+public final class RankingExportWriter implements Consumer<CandidateScoreDTO> {
+
+    private static final ObjectMapper JSON_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .build();
+
+    private static final int FLUSH_EVERY = 200;
+
+    private static final String CSV_HEADER = "rank,candidate_id,candidate_name,candidate_email,cv_id,score,confidence,status";
+
+    private final ExportFormat format;
+    private final Writer writer;
+    private long rowCount;
+
+    public RankingExportWriter(ExportFormat format, OutputStream out) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void accept(CandidateScoreDTO candidate) {
+        try {
+            if (rowCount == 0 && format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            if (format == ExportFormat.NDJSON) {
+                writer.write(JSON_MAPPER.writeValueAsString(candidate));
+            } else {
+                writeCsvRow(candidate);
+            }
+            writer.write('\n');
+
+            rowCount++;
+            if (rowCount == 1 || rowCount % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Ghi phần còn lại trong buffer; job chưa có kết quả thì CSV vẫn có dòng header
+    public long finish() throws IOException {
+        if (rowCount == 0 && format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        writer.flush();
+        return rowCount;
+    }
+
+    private void writeCsvRow(CandidateScoreDTO candidate) throws IOException {
+        writer.write(csvValue(candidate.getRank()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getCandidateId()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getCandidateName()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getCandidateEmail()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getCvId()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getScore()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getConfidence()));
+        writer.write(',');
+        writer.write(csvValue(candidate.getStatus()));
+    }
+
+    // Bọc trong dấu nháy kép khi giá trị có dấu phẩy, nháy kép hoặc xuống dòng (RFC 4180)
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,84 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.domain.cv.CVSkillSet;
+import com.smartrecruit.backend.domain.job.SkillBitSet;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gán ID số nguyên liên tiếp (0, 1, 2, ...) cho mỗi skill đã chuẩn hoá (trim + lowercase) để so khớp skill bằng bitset
+ * thay vì Set<String>. Từ điển được dựng sẵn từ toàn bộ skill keyword của CVFeatureParser và JDFeatureParser
+ * (theo thứ tự alphabet nên ID ổn định giữa các lần khởi động); skill ngoài danh sách (vd. job được sửa tay) được cấp ID khi gặp.
+ */
+@Component
+public class SkillVocabulary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public SkillVocabulary() {
+        TreeSet<String> seed = new TreeSet<>(CVFeatureParser.skillKeywords());
+        seed.addAll(JDFeatureParser.skillKeywords());
+        // Ghi thẳng vào map thay vì gọi intern() (overridable) trong constructor
+        for (String skill : seed) {
+            ids.put(skill, nextId.getAndIncrement());
+        }
+    }
+
+    // Trả về ID của skill, cấp ID mới nếu skill chưa có trong từ điển
+    public int intern(String skill) {
+        return ids.computeIfAbsent(skill, key -> nextId.getAndIncrement());
+    }
+
+    // Trả về ID của skill hoặc -1 nếu chưa có (không cấp ID mới, tránh từ điển phình theo dữ liệu CV)
+    public int find(String skill) {
+        Integer id = ids.get(skill);
+        return id != null ? id : -1;
+    }
+
+    // Bitset của các skill (đã chuẩn hoá), cấp ID cho skill chưa có
+    public long[] internAll(Collection<String> skills) {
+        int[] skillIds = skills.stream().mapToInt(this::intern).toArray();
+        return SkillBitSet.of(skillIds, skillIds.length);
+    }
+
+    /**
+     * Chuẩn hoá skill của CV (trim + lowercase) thành bitset theo ID, không cấp ID mới.
+     * Skill chưa có trong từ điển chỉ được đếm riêng (hiếm gặp vì parser chỉ trả về keyword có trong từ điển).
+     */
+    public CVSkillSet findAll(List<String> rawSkills) {
+        int size = rawSkills != null ? rawSkills.size() : 0;
+        int[] skillIds = new int[size];
+        int idCount = 0;
+        Set<String> unknownSkills = null;
+        for (int i = 0; i < size; i++) {
+            String skill = rawSkills.get(i);
+            String normalized = skill != null ? skill.trim().toLowerCase() : "";
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int id = find(normalized);
+            if (id >= 0) {
+                skillIds[idCount++] = id;
+            } else {
+                if (unknownSkills == null) {
+                    unknownSkills = new HashSet<>();
+                }
+                unknownSkills.add(normalized);
+            }
+        }
+        return new CVSkillSet(SkillBitSet.of(skillIds, idCount), unknownSkills != null ? unknownSkills.size() : 0);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
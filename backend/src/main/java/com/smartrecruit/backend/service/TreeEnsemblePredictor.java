@@ -0,0 +1,91 @@
+package com.smartrecruit.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartrecruit.backend.domain.ml.FeatureMatrix;
+import com.smartrecruit.backend.domain.ml.TreeEnsemble;
+import com.smartrecruit.backend.dto.ml.FeatureVector;
+import com.smartrecruit.backend.dto.ml.PredictionRequest;
+import com.smartrecruit.backend.dto.ml.PredictionResponse;
+import com.smartrecruit.backend.dto.ml.PredictionResult;
+import com.smartrecruit.backend.exception.MLServiceException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Chấm điểm trực tiếp trong JVM bằng tree dump export từ baseline XGBoost model, không cần gọi HTTP sang ML Service
+@Service
+@Primary
+@ConditionalOnProperty(name = "ml.predictor", havingValue = "local")
+@Slf4j
+public class TreeEnsemblePredictor implements Predictor {
+
+    private static final String DEFAULT_MODEL_VERSION = "xgboost-local";
+
+    @Value("${ml.model.tree-dump-path}")
+    private String treeDumpPath;
+
+    private TreeEnsemble model;
+
+    @PostConstruct
+    public void init() {
+        Path path = Paths.get(treeDumpPath).toAbsolutePath().normalize();
+        try {
+            JsonNode dump = new ObjectMapper().readTree(path.toFile());
+            model = TreeEnsemble.fromJson(dump, FeatureVector.FEATURE_NAMES, DEFAULT_MODEL_VERSION);
+            log.info("Loaded tree ensemble from {}: {} trees, model version {}",
+                    path, model.getTreeCount(), model.getModelVersion());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to load tree dump: {}", path, e);
+            throw new IllegalStateException("Cannot load local ML model from " + path, e);
+        }
+    }
+
+    @Override
+    public PredictionResponse predict(PredictionRequest request) {
+        List<FeatureVector> features = request.getFeatures() != null ? request.getFeatures() : List.of();
+        return predict(FeatureMatrix.of(features, features.size()));
+    }
+
+    // Chấm cả batch một lần trên ma trận row-major để duyệt cây theo thứ tự cache-friendly
+    @Override
+    public PredictionResponse predict(FeatureMatrix matrix) {
+        int rowCount = matrix.getRowCount();
+        double[] scores = new double[rowCount];
+        try {
+            model.predictBatch(matrix.getData(), rowCount, scores);
+        } catch (RuntimeException e) {
+            throw new MLServiceException("Local model prediction failed: " + e.getMessage(), "ML_LOCAL_PREDICTION_ERROR", e);
+        }
+
+        List<PredictionResult> results = new ArrayList<>(rowCount);
+        for (double score : scores) {
+            results.add(PredictionResult.builder()
+                    .score(clampScore(score))
+                    .confidence(null)
+                    .build());
+        }
+
+        return PredictionResponse.builder()
+                .predictions(results)
+                .modelVersion(model.getModelVersion())
+                .timestamp(LocalDateTime.now())
+                .count(results.size())
+                .build();
+    }
+
+    // Giống ml_service: đảm bảo score trong [0, 100]
+    private double clampScore(double score) {
+        return Math.max(0.0, Math.min(100.0, score));
+    }
+}
@@ -0,0 +1,77 @@
+package com.smartrecruit.backend.service;
+
+import com.smartrecruit.backend.entity.User;
+import com.smartrecruit.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache User theo email cho JwtAuthenticationFilter, để mỗi request có JWT không phải query bảng users.
+ * Giới hạn số entry (LRU) và thời gian sống (TTL); entry bị xoá ngay khi trạng thái/role của user thay đổi.
+ * User trong cache là bản copy đã tách khỏi persistence context và không có các collection lazy.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private record Entry(User user, Instant loadedAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Map<String, Entry> users;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            @Value("${app.security.user-cache.ttl:60s}") Duration ttl,
+            @Value("${app.security.user-cache.max-size:1000}") int maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public User get(String email) {
+        Entry entry = users.get(email);
+        if (entry != null && entry.loadedAt().plus(ttl).isAfter(Instant.now())) {
+            return entry.user();
+        }
+
+        User user = userRepository.findByEmail(email)
+                .map(UserPrincipalCache::detachedCopy)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        users.put(email, new Entry(user, Instant.now()));
+        return user;
+    }
+
+    // Trong transaction thì chỉ xoá sau khi commit, tránh request khác nạp lại bản cũ trước khi thay đổi được ghi xuống DB
+    public void evict(String email) {
+        AfterCommit.run(() -> users.remove(email));
+        log.debug("Evicted cached principal: {}", email);
+    }
+
+    private static User detachedCopy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .fullName(user.getFullName())
+                .role(user.getRole())
+                .active(user.getActive())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+}
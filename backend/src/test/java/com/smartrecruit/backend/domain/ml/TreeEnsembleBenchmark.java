@@ -0,0 +1,123 @@
+package com.smartrecruit.backend.domain.ml;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartrecruit.backend.dto.ml.FeatureVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh chấm điểm từng row (predict) với chấm theo batch (predictBatch) trên một ensemble sinh ngẫu nhiên
+ * có kích thước tương đương baseline model. Chạy bằng main() hoặc qua JMH runner từ IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeEnsembleBenchmark {
+
+    private static final int TREE_COUNT = 300;
+    private static final int MAX_DEPTH = 6;
+
+    @Param({"1000", "10000", "100000"})
+    private int rowCount;
+
+    private TreeEnsemble model;
+    private double[][] rowList;
+    private double[] matrix;
+    private double[] scores;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        model = TreeEnsemble.fromJson(randomDump(random), FeatureVector.FEATURE_NAMES, "benchmark");
+
+        int featureCount = model.getFeatureCount();
+        rowList = new double[rowCount][featureCount];
+        matrix = new double[rowCount * featureCount];
+        scores = new double[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            for (int f = 0; f < featureCount; f++) {
+                // ~2% missing để đi qua nhánh NaN
+                double value = random.nextInt(50) == 0 ? Double.NaN : random.nextDouble() * 10;
+                rowList[r][f] = value;
+                matrix[r * featureCount + f] = value;
+            }
+        }
+    }
+
+    @Benchmark
+    public void perRow(Blackhole blackhole) {
+        for (double[] row : rowList) {
+            blackhole.consume(model.predict(row));
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole blackhole) {
+        model.predictBatch(matrix, rowCount, scores);
+        blackhole.consume(scores);
+    }
+
+    private static ObjectNode randomDump(Random random) {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode dump = mapper.createObjectNode();
+        dump.put("model_version", "benchmark");
+        dump.put("base_score", 50.0);
+        ArrayNode features = dump.putArray("features");
+        FeatureVector.FEATURE_NAMES.forEach(features::add);
+
+        ArrayNode trees = dump.putArray("trees");
+        for (int t = 0; t < TREE_COUNT; t++) {
+            int[] nextId = {0};
+            trees.add(randomNode(mapper, random, nextId, 0));
+        }
+        return dump;
+    }
+
+    // Sinh cây không cân bằng giống dump XGBoost thật: nodeid theo thứ tự DFS, yes/no trỏ tới nodeid của con
+    private static ObjectNode randomNode(ObjectMapper mapper, Random random, int[] nextId, int depth) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("nodeid", nextId[0]++);
+        if (depth == MAX_DEPTH || (depth > 2 && random.nextInt(4) == 0)) {
+            node.put("leaf", random.nextGaussian());
+            return node;
+        }
+
+        node.put("depth", depth);
+        node.put("split", FeatureVector.FEATURE_NAMES.get(random.nextInt(FeatureVector.FEATURE_COUNT)));
+        node.put("split_condition", random.nextDouble() * 10);
+        ObjectNode yes = randomNode(mapper, random, nextId, depth + 1);
+        ObjectNode no = randomNode(mapper, random, nextId, depth + 1);
+        node.put("yes", yes.get("nodeid").asInt());
+        node.put("no", no.get("nodeid").asInt());
+        node.put("missing", random.nextBoolean() ? yes.get("nodeid").asInt() : no.get("nodeid").asInt());
+        node.putArray("children").add(yes).add(no);
+        return node;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TreeEnsembleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.smartrecruit.backend.domain.ml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartrecruit.backend.dto.ml.FeatureVector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Kiểm tra TreeEnsemble trên tree dump nhỏ (src/test/resources/ml/small_model_trees.json, cùng định dạng
+ * export_tree_dump.py): 3 cây, base_score 50. Kết quả mong đợi tính theo cách XGBoost duyệt cây:
+ * feature ép về float32, đi nhánh "yes" khi x < split_condition, NaN đi theo nhánh "missing".
+ */
+class TreeEnsembleTest {
+
+    private static final double NaN = Double.NaN;
+
+    private static TreeEnsemble model;
+
+    @BeforeAll
+    static void loadModel() throws IOException {
+        model = TreeEnsemble.fromJson(readDump(), FeatureVector.FEATURE_NAMES, "default");
+    }
+
+    static JsonNode readDump() throws IOException {
+        try (InputStream in = TreeEnsembleTest.class.getResourceAsStream("/ml/small_model_trees.json")) {
+            return new ObjectMapper().readTree(in);
+        }
+    }
+
+    @Test
+    void loadsTreesFromDump() {
+        assertEquals("test-small", model.getModelVersion());
+        assertEquals(FeatureVector.FEATURE_COUNT, model.getFeatureCount());
+        assertEquals(3, model.getTreeCount());
+        assertEquals(7 + 5 + 3, model.getNodeCount());
+    }
+
+    @Test
+    void allMissingFollowsDefaultBranches() {
+        double[] row = new double[FeatureVector.FEATURE_COUNT];
+        Arrays.fill(row, NaN);
+
+        // -4.25 (missing -> node 1 -> node 4) + 2.5 (missing -> node 2 -> node 3) - 20 (missing -> yes)
+        assertEquals(28.25, model.predict(row), 1e-12);
+    }
+
+    @Test
+    void predictsExpectedScores() {
+        double[][] rows = expectedRows();
+        double[] expected = expectedScores();
+        for (int r = 0; r < rows.length; r++) {
+            assertEquals(expected[r], model.predict(rows[r]), 1e-12, "row " + r);
+        }
+    }
+
+    @Test
+    void predictBatchMatchesExpectedScores() {
+        double[][] rows = expectedRows();
+        double[] out = new double[rows.length];
+        model.predictBatch(flatten(rows), rows.length, out);
+
+        assertArrayEquals(expectedScores(), out, 1e-12);
+    }
+
+    @Test
+    void predictBatchAgreesWithPerRowAcrossBlocks() {
+        // Nhiều hơn hai block BATCH_BLOCK_ROWS và không chia hết, ~10% giá trị missing
+        int rowCount = 600;
+        int featureCount = model.getFeatureCount();
+        Random random = new Random(7);
+        double[][] rows = new double[rowCount][featureCount];
+        for (double[] row : rows) {
+            for (int f = 0; f < featureCount; f++) {
+                row[f] = random.nextInt(10) == 0 ? NaN : random.nextDouble() * 4 - 2;
+            }
+        }
+
+        double[] batch = new double[rowCount];
+        model.predictBatch(flatten(rows), rowCount, batch);
+
+        for (int r = 0; r < rowCount; r++) {
+            assertEquals(model.predict(rows[r]), batch[r], 0.0, "row " + r);
+        }
+    }
+
+    @Test
+    void rejectsDumpWithUnknownSplitFeature() throws IOException {
+        JsonNode dump = readDump();
+        ((ObjectNode) dump.path("trees").get(2)).put("split", "salary");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TreeEnsemble.fromJson(dump, FeatureVector.FEATURE_NAMES, "default"));
+    }
+
+    static double[][] expectedRows() {
+        return new double[][]{
+                row(0.1, 0.8, 1.0, 0.9, -1.5, NaN),      // split_condition bằng đúng giá trị -> nhánh "no"
+                row(0.05, 0.3, NaN, NaN, -3.0, 1.0),
+                row(0.3, 0.5, NaN, 0.5, NaN, NaN),
+                // 0.0999999999 < 0.1 ở double nhưng bằng 0.1f sau khi ép float32 -> nhánh "no" giống XGBoost
+                row(0.0999999999, 0.8, 0.0, 0.75, 0.0, NaN),
+        };
+    }
+
+    static double[] expectedScores() {
+        return new double[]{
+                50 + 18.75 + 9.0 + 1.125,
+                50 - 12.5 - 7.0 - 20.0,
+                50 + 18.75 + 2.5 - 20.0,
+                50 + 6.5 + 9.0 + 1.125,
+        };
+    }
+
+    private static double[] row(double skillJaccard, double skillCoverage, double educationMatch,
+                                double seniorityMatch, double experienceGap, double cvExperienceYears) {
+        double[] row = new double[FeatureVector.FEATURE_COUNT];
+        row[FeatureMatrix.SKILL_JACCARD] = skillJaccard;
+        row[FeatureMatrix.SKILL_COVERAGE] = skillCoverage;
+        row[FeatureMatrix.EDUCATION_MATCH] = educationMatch;
+        row[FeatureMatrix.SENIORITY_MATCH_SCORE] = seniorityMatch;
+        row[FeatureMatrix.EXPERIENCE_GAP] = experienceGap;
+        row[FeatureMatrix.CV_EXPERIENCE_YEARS] = cvExperienceYears;
+        return row;
+    }
+
+    private static double[] flatten(double[][] rows) {
+        int featureCount = model.getFeatureCount();
+        double[] matrix = new double[rows.length * featureCount];
+        for (int r = 0; r < rows.length; r++) {
+            System.arraycopy(rows[r], 0, matrix, r * featureCount, featureCount);
+        }
+        return matrix;
+    }
+}
@@ -14,7 +14,7 @@ export const EvaluationResultCard = ({ result }: EvaluationResultCardProps) => {
     return "text-score-poor";
   };
 
-  const getBgByRank = (rank: number) => {
+  const getBgByRank = (rank: number | null) => {
     if (rank === 1) return "from-yellow-400 to-yellow-600"; // Gold
     if (rank === 2) return "from-gray-300 to-gray-500"; // Silver
     if (rank === 3) return "from-amber-600 to-amber-800"; // Bronze
@@ -40,9 +40,11 @@ export const EvaluationResultCard = ({ result }: EvaluationResultCardProps) => {
               >
                 {result.candidateName}
               </Link>
-              <span className="px-3 py-1 bg-primary/10 text-primary rounded-full text-sm font-medium">
-                #{result.rank}
-              </span>
+              {result.rank != null && (
+                <span className="px-3 py-1 bg-primary/10 text-primary rounded-full text-sm font-medium">
+                  #{result.rank}
+                </span>
+              )}
             </div>
             <p className="text-sm text-muted-foreground">{result.candidateEmail}</p>
           </div>
@@ -18,7 +18,7 @@ export interface CandidateScore {
   candidateEmail: string;
   cvId: string;
   score: number;
-  rank: number;
+  rank: number | null;
   confidence?: number;
   status: string;
   errorMessage?: string;
@@ -0,0 +1,50 @@
+import json
+import sys
+from pathlib import Path
+
+import joblib
+
+# Export baseline XGBoost model thành JSON tree dump để backend (TreeEnsemblePredictor) chấm điểm trực tiếp trong JVM
+MODELS_DIR = Path(__file__).parent.parent / "models"
+MODEL_PATH = MODELS_DIR / "baseline_model_xgboost.joblib"
+METADATA_PATH = MODELS_DIR / "baseline_model_metadata.json"
+OUTPUT_PATH = MODELS_DIR / "baseline_model_trees.json"
+
+
+def parse_base_score(config: dict) -> float:
+    # XGBoost >= 2.0 lưu base_score dạng "5.3E1" hoặc "[5.3E1]"
+    raw = config["learner"]["learner_model_param"]["base_score"]
+    return float(str(raw).strip("[]"))
+
+
+def main():
+    model = joblib.load(MODEL_PATH)
+    with open(METADATA_PATH, "r") as f:
+        metadata = json.load(f)
+
+    booster = model.get_booster()
+    config = json.loads(booster.save_config())
+
+    features = list(booster.feature_names or metadata["features"])
+    if features != metadata["features"]:
+        print("Error: model feature order does not match baseline_model_metadata.json")
+        sys.exit(1)
+
+    trees = [json.loads(tree) for tree in booster.get_dump(dump_format="json")]
+
+    dump = {
+        "model_version": metadata.get("version", "unknown"),
+        "objective": metadata.get("model_params", {}).get("objective"),
+        "base_score": parse_base_score(config),
+        "features": features,
+        "trees": trees,
+    }
+
+    with open(OUTPUT_PATH, "w") as f:
+        json.dump(dump, f)
+
+    print(f"Exported {len(trees)} trees ({len(features)} features) to: {OUTPUT_PATH}")
+
+
+if __name__ == "__main__":
+    main()